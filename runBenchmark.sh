@@ -0,0 +1,2 @@
+javac -d bin src/*.java
+java -cp bin Benchmark "$@"
\ No newline at end of file
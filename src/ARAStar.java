@@ -0,0 +1,327 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+// Anytime Repairing A* (ARA*): weighted A* dengan f = g + w*h yang dijalankan berulang dengan
+// bobot w yang terus diturunkan sampai 1. Setiap putaran memakai ulang g, open list, dan parent
+// dari putaran sebelumnya; state yang membaik setelah ditutup pada putaran yang sama disimpan
+// di daftar INCONS dan baru diekspansi ulang pada putaran berikutnya. Setiap solusi yang lebih
+// baik (atau batas suboptimalnya mengetat) dilaporkan ke SolutionListener. Jika batas waktu,
+// node, atau memori habis setelah ada solusi, solusi terbaik itu yang dikembalikan.
+public class ARAStar implements Solver {
+    public static final double DEFAULT_INITIAL_WEIGHT = 3.0;
+    public static final double DEFAULT_WEIGHT_STEP = 0.5;
+    private static final int INF = Integer.MAX_VALUE;
+
+    private StateEncoder encoder;
+    private Symmetry symmetry;
+    private MoveGenerator moveGenerator;
+    private final CostModel costModel;
+    private final int heuristicType;
+    private final double initialWeight;
+    private final double weightStep;
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+    private SolutionListener listener;
+
+    // Per pencarian
+    private double weight;
+    private OpenList<Node> open;
+    private List<Node> incons;        // state yang membaik setelah ditutup pada putaran ini
+    private LongHashSet closed;       // dikosongkan setiap putaran
+    private LongIntHashMap bestCost;  // g terkecil per state kanonik, dipakai ulang antar putaran
+    private Node incumbent;           // solusi terbaik sejauh ini
+    private double bound;             // biaya incumbent paling banyak bound kali optimal
+    private int solutionCount;
+
+    public ARAStar(int heuristicType) {
+        this(heuristicType, CostModel.CELLS_MOVED);
+    }
+
+    public ARAStar(int heuristicType, CostModel costModel) {
+        this(heuristicType, costModel, DEFAULT_INITIAL_WEIGHT, DEFAULT_WEIGHT_STEP);
+    }
+
+    public ARAStar(int heuristicType, CostModel costModel, double initialWeight, double weightStep) {
+        if (initialWeight < 1 || weightStep <= 0) {
+            throw new IllegalArgumentException("Bobot awal minimal 1 dan penurunan bobot harus positif");
+        }
+        this.heuristicType = heuristicType;
+        this.costModel = costModel;
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+    }
+
+    private String getAlgorithmName() {
+        return "ARA* Search";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + " (mencari path list)");
+        Node solutionNode = search(start);
+        if (solutionNode == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        return toBoardPath(solutionNode);
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    private Node search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
+        weight = initialWeight;
+        open = new HeapOpenList<>();
+        incons = new ArrayList<>();
+        closed = new LongHashSet();
+        bestCost = new LongIntHashMap();
+        incumbent = null;
+        bound = Double.POSITIVE_INFINITY;
+        solutionCount = 0;
+        budget.meterMemory(() -> closed.memoryBytes() + bestCost.memoryBytes()
+                + (open.size() + incons.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
+
+        long startKey = encoder.encode(start);
+        symmetry = Symmetry.of(encoder, startKey);
+        if (symmetry.isSymmetric()) {
+            System.out.println("Papan simetris (" + symmetry.getName() + "), state dan cerminnya digabung");
+        }
+        int h = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        open.add(new Node(startKey, null, '\0', '\0', 0, 0, h, weight));
+        bestCost.put(symmetry.canonical(startKey), 0);
+        System.out.println("Bobot heuristik awal " + formatWeight(initialWeight) + ", turun " + formatWeight(weightStep) + " per putaran");
+
+        boolean optimal = false;
+        try {
+            while (true) {
+                Node previous = incumbent;
+                double previousBound = bound;
+                improvePath(budget, recorder);
+                if (incumbent == null) break; // semua state yang bisa dicapai sudah diekspansi
+
+                // Batas bawah biaya optimal: f tanpa bobot terkecil di OPEN dan INCONS
+                List<Node> pending = new ArrayList<>(incons);
+                while (!open.isEmpty()) pending.add(open.poll());
+                pending.removeIf(n -> n.g > bestCost.get(symmetry.canonical(n.key), INF));
+                int lowerBound = INF;
+                for (Node node : pending) lowerBound = Math.min(lowerBound, node.g + node.h);
+                bound = lowerBound >= incumbent.g ? 1.0 : Math.min(weight, incumbent.g / (double) Math.max(1, lowerBound));
+                if (incumbent != previous || bound < previousBound) {
+                    report(incumbent != previous);
+                }
+                if (bound <= 1.0) {
+                    optimal = true;
+                    break;
+                }
+
+                // Bobot putaran berikutnya tidak perlu lebih longgar dari batas yang sudah terbukti
+                weight = Math.max(1.0, Math.min(weight - weightStep, bound));
+                closed = new LongHashSet();
+                incons.clear();
+                for (Node node : pending) {
+                    node.f = node.g + weight * node.h;
+                    open.add(node);
+                }
+            }
+        } catch (BudgetExceededException e) {
+            if (incumbent == null) {
+                recorder.finish(nodesExpanded, open.size(), closed.size(), -1);
+                throw e;
+            }
+            System.out.println(e.getMessage() + ", memakai solusi terbaik (maks " + formatWeight(bound) + "x optimal)");
+        }
+
+        recorder.finish(nodesExpanded, open.size(), closed.size(), incumbent == null ? -1 : incumbent.g);
+        bytesPerState = (closed.memoryBytes() + bestCost.memoryBytes()) / (double) Math.max(1, bestCost.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
+        if (incumbent != null) {
+            if (optimal) System.out.println("Solusi terbukti optimal setelah " + solutionCount + " solusi");
+            lastSummarizedStepCount = countSummarizedSteps(incumbent);
+        }
+        return incumbent;
+    }
+
+    // Satu putaran weighted A* dengan bobot saat ini. Berhenti jika goal diambil dari open list
+    // (solusi baru), jika f terkecil di open list tidak bisa lagi memperbaiki incumbent, atau
+    // jika open list habis. Successor dengan g + h >= biaya incumbent tidak disimpan.
+    private void improvePath(SearchLimits.Budget budget, SearchMetrics.Recorder recorder) {
+        while (!open.isEmpty()) {
+            long t = recorder.time();
+            Node current = open.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
+
+            long boardKey = symmetry.canonical(current.key);
+            if (current.g > bestCost.get(boardKey, INF)) {
+                recorder.lap(SearchMetrics.HASHING, t);
+                continue;
+            }
+            if (incumbent != null && current.f >= incumbent.g) {
+                open.add(current);
+                recorder.lap(SearchMetrics.QUEUE, t);
+                return;
+            }
+
+            nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, open.size(), closed.size(), current.g + current.h, current.g);
+
+            if (encoder.isGoal(current.key)) {
+                incumbent = current;
+                solutionCount++;
+                return;
+            }
+            closed.add(boardKey);
+            t = recorder.lap(SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                int newG = current.g + costModel.cost(move.distance);
+                long canonicalKey = symmetry.canonical(move.key);
+                if (newG >= bestCost.get(canonicalKey, INF)) continue;
+                t = recorder.lap(SearchMetrics.HASHING, t);
+                int newH = Heuristic.calculate(encoder, current.key, current.h, move, heuristicType, costModel);
+                t = recorder.lap(SearchMetrics.HEURISTIC, t);
+                if (incumbent != null && newG + newH >= incumbent.g) continue;
+
+                bestCost.put(canonicalKey, newG);
+                Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newG, newH, weight);
+                // Dengan bobot 1 state dibuka ulang langsung seperti A*, agar putaran terakhir tetap optimal
+                if (weight > 1.0 && closed.contains(canonicalKey)) {
+                    incons.add(neighbor);
+                } else {
+                    open.add(neighbor);
+                }
+                t = recorder.lap(SearchMetrics.QUEUE, t);
+            }
+            recorder.lap(SearchMetrics.HASHING, t);
+        }
+    }
+
+    private void report(boolean improved) {
+        System.out.println((improved ? "Solusi ke-" + solutionCount + ": biaya " + incumbent.g : "Batas solusi ke-" + solutionCount + " mengetat")
+                + ", bobot " + formatWeight(weight) + ", maks " + formatWeight(bound) + "x optimal, " + nodesExpanded + " node");
+        if (listener != null) {
+            listener.onSolution(toBoardPath(incumbent), incumbent.g, bound, nodesExpanded);
+        }
+    }
+
+    private static String formatWeight(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private List<Board> toBoardPath(Node solutionNode) {
+        List<Board> boardPath = new ArrayList<>();
+        for (Node node = solutionNode; node != null; node = node.parent) {
+            boardPath.add(encoder.decode(node.key));
+        }
+        Collections.reverse(boardPath);
+        return boardPath;
+    }
+
+    private int countSummarizedSteps(Node solutionNode) {
+        int steps = 0;
+        for (Node node = solutionNode; node != null && node.parent != null; node = node.parent) {
+            Node previous = node.parent;
+            if (previous.parent == null || previous.piece != node.piece || previous.direction != node.direction) {
+                steps++;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void setSolutionListener(SolutionListener listener) {
+        this.listener = listener;
+    }
+
+    private static class Node implements Comparable<Node> {
+        final long key;
+        final Node parent;
+        final char piece;
+        final char direction;
+        final int distance;
+        final int g;
+        final int h;
+        double f;   // g + w*h, dihitung ulang saat bobot turun
+
+        Node(long key, Node parent, char piece, char direction, int distance, int g, int h, double weight) {
+            this.key = key;
+            this.parent = parent;
+            this.piece = piece;
+            this.direction = direction;
+            this.distance = distance;
+            this.g = g;
+            this.h = h;
+            this.f = g + weight * h;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            if (f != other.f) return Double.compare(f, other.f);
+            return Integer.compare(h, other.h); // seri: lebih dekat ke tujuan dulu
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+// Laporan hasil solve yang ditulis baris per baris begitu hasil selesai (CSV atau array JSON).
+// Aman dipanggil dari banyak thread.
+public class BatchReport implements Closeable {
+    public enum Format {
+        CSV, JSON;
+
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase().endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    public static class Entry {
+        public String puzzle;
+        public String status;          // solved, no_solution, timeout, budget_exceeded, error
+        public long timeMillis;
+        public int nodesExplored;
+        public int pathLength;         // banyaknya Move pada path yang dikembalikan solver
+        public int steps;              // langkah setelah geseran berurutan bidak yang sama digabung
+        public double bytesPerState;
+        public String message = "";
+    }
+
+    private final Writer out;
+    private final Format format;
+    private boolean first = true;
+
+    public BatchReport(Writer out, Format format) throws IOException {
+        this.out = out;
+        this.format = format;
+        if (format == Format.CSV) {
+            out.write("puzzle,status,time_ms,nodes_explored,path_length,steps,bytes_per_state,message\n");
+        } else {
+            out.write("[\n");
+        }
+        out.flush();
+    }
+
+    public synchronized void write(Entry e) throws IOException {
+        if (format == Format.CSV) {
+            out.write(csv(e.puzzle) + "," + e.status + "," + e.timeMillis + "," + e.nodesExplored + ","
+                    + e.pathLength + "," + e.steps + "," + String.format(Locale.ROOT, "%.1f", e.bytesPerState) + ","
+                    + csv(e.message) + "\n");
+        } else {
+            out.write((first ? "" : ",\n") + toJson(e));
+        }
+        first = false;
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (format == Format.JSON) {
+            out.write(first ? "]\n" : "\n]\n");
+        }
+        out.close();
+    }
+
+    public static String toJson(Entry e) {
+        return "  {\"puzzle\": " + json(e.puzzle)
+                + ", \"status\": " + json(e.status)
+                + ", \"time_ms\": " + e.timeMillis
+                + ", \"nodes_explored\": " + e.nodesExplored
+                + ", \"path_length\": " + e.pathLength
+                + ", \"steps\": " + e.steps
+                + ", \"bytes_per_state\": " + String.format(Locale.ROOT, "%.1f", e.bytesPerState)
+                + ", \"message\": " + json(e.message) + "}";
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    static String json(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
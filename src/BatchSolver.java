@@ -0,0 +1,190 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Menyelesaikan banyak file puzzle secara paralel. Setiap task membuat Solver sendiri lewat
+// SolverFactory (Solver tidak thread-safe), hasil ditulis ke laporan begitu task selesai.
+// Dipakai oleh mode command line di Main.
+public class BatchSolver {
+    private final String algorithm;
+    private final int heuristicType;
+    private final CostModel costModel;
+    private final OpenList.Type queueType;
+    private final int threads;
+    private final long timeoutMillis; // 0 = tanpa batas waktu
+    private final long maxNodes;      // 0 = tanpa batas node
+    private final long maxMemoryBytes;
+    // Interupsi cadangan sedikit setelah batas waktu, untuk fase solver yang tidak mengecek
+    // SearchLimits (mis. membangun pattern database)
+    private static final long ALARM_GRACE_MILLIS = 1000;
+    private SearchListener metricsListener;   // null = tanpa metrik langsung
+    private long metricsIntervalMillis = SearchMetrics.DEFAULT_INTERVAL_MILLIS;
+
+    // Banyaknya puzzle per status setelah run selesai
+    public static class Result {
+        public int solved, noSolution, timeout, budgetExceeded, error;
+
+        public int total() {
+            return solved + noSolution + timeout + budgetExceeded + error;
+        }
+    }
+
+    public BatchSolver(String algorithm, int heuristicType, CostModel costModel, int threads, long timeoutMillis) {
+        this(algorithm, heuristicType, costModel, OpenList.Type.HEAP, threads, timeoutMillis);
+    }
+
+    public BatchSolver(String algorithm, int heuristicType, CostModel costModel, OpenList.Type queueType, int threads, long timeoutMillis) {
+        this(algorithm, heuristicType, costModel, queueType, threads, timeoutMillis, 0, 0);
+    }
+
+    public BatchSolver(String algorithm, int heuristicType, CostModel costModel, OpenList.Type queueType, int threads,
+                       long timeoutMillis, long maxNodes, long maxMemoryBytes) {
+        this.algorithm = algorithm;
+        this.heuristicType = heuristicType;
+        this.costModel = costModel;
+        this.queueType = queueType;
+        this.threads = Math.max(1, threads);
+        this.timeoutMillis = timeoutMillis;
+        this.maxNodes = maxNodes;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    // Setiap puzzle melapor ke listener yang sama dengan label path puzzle-nya
+    public void setMetrics(SearchListener listener, long intervalMillis) {
+        this.metricsListener = listener;
+        this.metricsIntervalMillis = intervalMillis;
+    }
+
+    // Folder: semua file .txt di dalamnya. File lain dianggap manifest: satu path per baris,
+    // relatif terhadap folder manifest, baris kosong dan yang diawali '#' diabaikan.
+    public static List<File> listPuzzles(File source) throws IOException {
+        List<File> files = new ArrayList<>();
+        if (source.isDirectory()) {
+            File[] found = source.listFiles((dir, name) -> name.endsWith(".txt"));
+            if (found != null) {
+                Arrays.sort(found);
+                files.addAll(Arrays.asList(found));
+            }
+            return files;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(source))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                File file = new File(line);
+                files.add(file.isAbsolute() ? file : new File(source.getAbsoluteFile().getParentFile(), line));
+            }
+        }
+        return files;
+    }
+
+    public Result run(List<File> puzzles, BatchReport report, PrintStream progress) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Satu thread pengingat untuk semua task: menginterupsi solver yang melewati batas waktu
+        ScheduledExecutorService alarms = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorCompletionService<BatchReport.Entry> completion = new ExecutorCompletionService<>(pool);
+        for (File puzzle : puzzles) {
+            completion.submit(() -> solveOne(puzzle, alarms));
+        }
+
+        Result result = new Result();
+        try {
+            for (int i = 0; i < puzzles.size(); i++) {
+                BatchReport.Entry entry;
+                try {
+                    entry = completion.take().get();
+                } catch (ExecutionException e) {
+                    throw new IOException("Task gagal: " + e.getCause(), e.getCause());
+                }
+                if (report != null) report.write(entry);
+                switch (entry.status) {
+                    case "solved" -> result.solved++;
+                    case "no_solution" -> result.noSolution++;
+                    case "timeout" -> result.timeout++;
+                    case "budget_exceeded" -> result.budgetExceeded++;
+                    default -> result.error++;
+                }
+                if (progress != null) {
+                    progress.println("[" + (i + 1) + "/" + puzzles.size() + "] " + entry.puzzle + ": " + entry.status
+                            + " (" + entry.timeMillis + " ms, " + entry.nodesExplored + " node"
+                            + (entry.status.equals("solved") ? ", " + entry.steps + " langkah" : "")
+                            + (entry.message.isEmpty() ? "" : ", " + entry.message) + ")");
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            alarms.shutdownNow();
+        }
+        return result;
+    }
+
+    private BatchReport.Entry solveOne(File file, ScheduledExecutorService alarms) {
+        BatchReport.Entry entry = new BatchReport.Entry();
+        entry.puzzle = file.getPath();
+        long startTime = System.nanoTime();
+        Solver solver = null;
+        Thread worker = Thread.currentThread();
+        ScheduledFuture<?> alarm = timeoutMillis > 0
+                ? alarms.schedule(worker::interrupt, timeoutMillis + ALARM_GRACE_MILLIS, TimeUnit.MILLISECONDS) : null;
+        try {
+            Board board = new Board(file);
+            solver = SolverFactory.create(algorithm, heuristicType, costModel, queueType);
+            solver.setLimits(new SearchLimits(timeoutMillis, maxNodes, maxMemoryBytes, null));
+            if (metricsListener != null) {
+                solver.setMetrics(new SearchMetrics(metricsListener, metricsIntervalMillis, file.getPath()));
+            }
+            List<Board> path = solver.solveAndReturnPath(board);
+            entry.status = path.isEmpty() ? "no_solution" : "solved";
+            entry.pathLength = Math.max(0, path.size() - 1);
+            entry.steps = solver.getLastSummarizedStepCount();
+            entry.bytesPerState = solver.getBytesPerState();
+        } catch (BudgetExceededException e) {
+            // Statistik parsial: node yang sudah diekspansi sampai batas tercapai
+            entry.status = e.getReason() == BudgetExceededException.Reason.NODES
+                    || e.getReason() == BudgetExceededException.Reason.MEMORY ? "budget_exceeded" : "timeout";
+            entry.message = e.getMessage();
+            entry.nodesExplored = (int) e.getNodesExplored();
+        } catch (CancellationException e) {
+            entry.status = "timeout";
+            entry.message = "Melebihi batas waktu " + timeoutMillis + " ms";
+        } catch (Exception e) {
+            entry.status = "error";
+            entry.message = e.getMessage() == null ? e.toString() : e.getMessage();
+        } finally {
+            disarm(alarm);
+        }
+        if (solver != null) entry.nodesExplored = Math.max(entry.nodesExplored, solver.getNodesExplored());
+        entry.timeMillis = (System.nanoTime() - startTime) / 1_000_000;
+        return entry;
+    }
+
+    // Pastikan interupsi dari alarm tidak bocor ke task berikutnya di thread yang sama
+    private static void disarm(ScheduledFuture<?> alarm) {
+        if (alarm != null && !alarm.cancel(false)) {
+            Thread.interrupted();
+            try {
+                alarm.get(); // alarm sedang/selesai berjalan, tunggu sampai interupsinya terkirim
+            } catch (InterruptedException | ExecutionException | CancellationException ignored) {
+            }
+        }
+        Thread.interrupted();
+    }
+}
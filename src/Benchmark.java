@@ -0,0 +1,273 @@
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Benchmark sederhana tanpa library eksternal: warmup lalu beberapa iterasi pengukuran,
+// melaporkan waktu per operasi dan byte yang dialokasikan per operasi (thread ini saja).
+// Jalankan: java -cp bin Benchmark [folder input] [warmup] [iterasi]
+public class Benchmark {
+    private static final long SEED = 13523049L;
+    private static final int SAMPLE_STEPS = 2000;     // state sampel per puzzle untuk benchmark mikro
+    private static final int SCRAMBLE_STEPS = 400;    // panjang random walk untuk puzzle acak
+    private static final int SCRAMBLE_TRIES = 8;      // kandidat acak per puzzle, diambil yang paling sulit
+    private static final int IDA_NODE_LIMIT = 1000;   // IDA* hanya untuk puzzle yang kecil bagi A*
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final PrintStream OUT = System.out;
+    private static final PrintStream SILENT = new PrintStream(OutputStream.nullOutputStream());
+
+    // Mencegah JIT membuang hasil yang tidak dipakai
+    private static long sink;
+
+    private interface Task {
+        // Mengembalikan banyaknya operasi yang dikerjakan dalam satu panggilan
+        int run();
+    }
+
+    private static class Puzzle {
+        final String name;
+        final Board board;
+        final StateEncoder encoder;
+        final long[] samples;
+        int aStarNodes;
+
+        Puzzle(String name, Board board) {
+            this.name = name;
+            this.board = board;
+            this.encoder = new StateEncoder(board);
+            this.samples = randomWalk(encoder, encoder.encode(board), SAMPLE_STEPS, new Random(SEED));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String inputDir = args.length > 0 ? args[0] : "test/input";
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<Puzzle> puzzles = loadPuzzles(inputDir);
+        puzzles.addAll(generateHardSet(puzzles));
+        OUT.println("Puzzle: " + puzzles.size() + ", warmup: " + warmup + ", iterasi: " + iterations);
+        OUT.println();
+        OUT.printf("%-36s %14s %14s %14s%n", "Benchmark", "rata-rata", "terbaik", "alokasi");
+
+        for (int type : new int[]{Heuristic.MANHATTAN, Heuristic.EUCLIDEAN, Heuristic.OBSTACLE_AWARE, Heuristic.BLOCKING, Heuristic.BLOCKING_DEEP, Heuristic.PATTERN_DB}) {
+            measure("heuristik " + Heuristic.getName(type), warmup, iterations, () -> {
+                int ops = 0;
+                for (Puzzle p : puzzles) {
+                    for (long state : p.samples) {
+                        sink += Heuristic.calculate(p.encoder, state, type);
+                        ops++;
+                    }
+                }
+                return ops;
+            });
+        }
+
+        for (int maxSlide : new int[]{1, Integer.MAX_VALUE}) {
+            List<MoveGenerator> generators = new ArrayList<>();
+            for (Puzzle p : puzzles) generators.add(new MoveGenerator(p.encoder, maxSlide));
+            measure("successor " + (maxSlide == 1 ? "satu sel" : "geseran makro"), warmup, iterations, () -> {
+                int ops = 0;
+                for (int i = 0; i < puzzles.size(); i++) {
+                    MoveGenerator generator = generators.get(i);
+                    for (long state : puzzles.get(i).samples) {
+                        sink += generator.generate(state).size();
+                        ops++;
+                    }
+                }
+                return ops;
+            });
+        }
+
+        measure("hashing encode + LongHashSet", warmup, iterations, () -> {
+            int ops = 0;
+            for (Puzzle p : puzzles) {
+                LongHashSet seen = new LongHashSet();
+                int[] positions = new int[p.encoder.pieceCount];
+                for (long state : p.samples) {
+                    p.encoder.positions(state, positions);
+                    long key = p.encoder.encode(positions);
+                    if (seen.add(key)) sink++;
+                    if (seen.contains(key ^ 1L)) sink++;
+                    ops++;
+                }
+            }
+            return ops;
+        });
+
+        OUT.println();
+        for (Puzzle p : puzzles) {
+            measureSolver(p, "A*", () -> new AStar(Heuristic.MANHATTAN), warmup, iterations);
+            measureSolver(p, "A* bucket", () -> new AStar(Heuristic.MANHATTAN, CostModel.CELLS_MOVED, OpenList.Type.BUCKET), warmup, iterations);
+            measureSolver(p, "UCS", UCS::new, warmup, iterations);
+            measureSolver(p, "UCS bucket", () -> new UCS(CostModel.CELLS_MOVED, OpenList.Type.BUCKET), warmup, iterations);
+            measureSolver(p, "GBFS", () -> new GBFS(Heuristic.MANHATTAN), warmup, iterations);
+            if (p.aStarNodes <= IDA_NODE_LIMIT) {
+                measureSolver(p, "IDA*", () -> new IDAStar(Heuristic.MANHATTAN), warmup, iterations);
+            }
+        }
+    }
+
+    private interface SolverSupplier {
+        Solver create();
+    }
+
+    private static void measureSolver(Puzzle p, String label, SolverSupplier supplier, int warmup, int iterations) {
+        measure("solve " + label + " " + p.name, warmup, iterations, () -> {
+            Solver solver = supplier.create();
+            System.setOut(SILENT);
+            try {
+                sink += solver.solveAndReturnPath(p.board.clone()).size();
+            } finally {
+                System.setOut(OUT);
+            }
+            return 1;
+        });
+    }
+
+    private static void measure(String name, int warmup, int iterations, Task task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        double best = Double.MAX_VALUE;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        long totalOps = 0;
+        for (int i = 0; i < iterations; i++) {
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            int ops = task.run();
+            long elapsed = System.nanoTime() - start;
+            totalBytes += THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            totalNanos += elapsed;
+            totalOps += ops;
+            best = Math.min(best, elapsed / (double) ops);
+        }
+
+        double mean = totalNanos / (double) Math.max(1, totalOps);
+        double bytes = totalBytes / (double) Math.max(1, totalOps);
+        OUT.printf("%-36s %14s %14s %11.1f B/op%n", name, formatTime(mean), formatTime(best), bytes);
+    }
+
+    private static String formatTime(double nanos) {
+        if (nanos >= 1_000_000) return String.format("%.2f ms/op", nanos / 1_000_000);
+        if (nanos >= 1_000) return String.format("%.2f us/op", nanos / 1_000);
+        return String.format("%.1f ns/op", nanos);
+    }
+
+    private static List<Puzzle> loadPuzzles(String inputDir) {
+        List<Puzzle> puzzles = new ArrayList<>();
+        File[] files = new File(inputDir).listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) {
+            throw new IllegalArgumentException("Folder input tidak ditemukan: " + inputDir);
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = file.getName().replace(".txt", "");
+            try {
+                Puzzle puzzle = new Puzzle(name, new Board(file));
+                if (!isSolvable(puzzle.encoder, puzzle.encoder.encode(puzzle.board))) {
+                    OUT.println("Dilewati (tidak ada solusi): " + name);
+                    continue;
+                }
+                puzzle.aStarNodes = aStarNodes(puzzle.board);
+                puzzles.add(puzzle);
+            } catch (Exception e) {
+                OUT.println("Dilewati (input tidak valid): " + name);
+            }
+        }
+        return puzzles;
+    }
+
+    // Puzzle acak dari random walk tiap puzzle dasar; dari beberapa kandidat diambil yang
+    // solusi optimalnya (jumlah gerakan bidak) paling panjang. Selalu solvable karena
+    // semua gerakan bisa dibalik.
+    private static List<Puzzle> generateHardSet(List<Puzzle> base) {
+        List<Puzzle> hard = new ArrayList<>();
+        Random random = new Random(SEED);
+        for (Puzzle p : base) {
+            Board hardest = null;
+            int hardestCost = -1;
+            for (int t = 0; t < SCRAMBLE_TRIES; t++) {
+                long[] walk = randomWalk(p.encoder, p.encoder.encode(p.board), SCRAMBLE_STEPS, random);
+                long candidate = walk[walk.length - 1];
+                if (p.encoder.isGoal(candidate)) continue;
+                Board board = p.encoder.decode(candidate);
+                int cost = pieceMoves(board);
+                if (cost > hardestCost) {
+                    hardestCost = cost;
+                    hardest = board;
+                }
+            }
+            if (hardest != null) {
+                Puzzle puzzle = new Puzzle("acak-" + p.name, hardest);
+                puzzle.aStarNodes = aStarNodes(hardest);
+                hard.add(puzzle);
+            }
+        }
+        return hard;
+    }
+
+    private static long[] randomWalk(StateEncoder encoder, long start, int steps, Random random) {
+        MoveGenerator generator = new MoveGenerator(encoder);
+        long[] states = new long[steps];
+        long state = start;
+        for (int i = 0; i < steps; i++) {
+            List<Move> moves = generator.generate(state);
+            if (!moves.isEmpty()) {
+                state = moves.get(random.nextInt(moves.size())).key;
+            }
+            states[i] = state;
+        }
+        return states;
+    }
+
+    // BFS biasa, supaya puzzle tanpa solusi tidak sampai ke solver (yang menulis test/output)
+    private static boolean isSolvable(StateEncoder encoder, long start) {
+        MoveGenerator generator = new MoveGenerator(encoder);
+        LongHashSet visited = new LongHashSet();
+        long[] queue = new long[1024];
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        visited.add(start);
+        while (head < tail) {
+            long state = queue[head++];
+            if (encoder.isGoal(state)) return true;
+            for (Move move : generator.generate(state)) {
+                if (!visited.add(move.key)) continue;
+                if (tail == queue.length) queue = Arrays.copyOf(queue, queue.length * 2);
+                queue[tail++] = move.key;
+            }
+        }
+        return false;
+    }
+
+    private static int aStarNodes(Board board) {
+        AStar solver = new AStar(Heuristic.MANHATTAN);
+        System.setOut(SILENT);
+        try {
+            solver.solveAndReturnPath(board.clone());
+            return solver.getNodesExplored();
+        } finally {
+            System.setOut(OUT);
+        }
+    }
+
+    private static int pieceMoves(Board board) {
+        AStar solver = new AStar(Heuristic.MANHATTAN, CostModel.PIECE_MOVES);
+        System.setOut(SILENT);
+        try {
+            return solver.solveAndReturnPath(board.clone()).size() - 1;
+        } finally {
+            System.setOut(OUT);
+        }
+    }
+}
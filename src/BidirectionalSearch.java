@@ -0,0 +1,331 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+// Dijkstra dua arah: maju dari papan awal dan mundur dari semua state tujuan sekaligus.
+// State tujuan = bidak utama di pintu keluar dengan semua penempatan bidak lain yang tidak bertumpuk.
+// Jika jumlahnya melebihi GOAL_LIMIT, pencarian jatuh kembali ke UCS biasa.
+public class BidirectionalSearch implements Solver {
+    private static final int GOAL_LIMIT = 200_000;
+
+    private StateEncoder encoder;
+    private MoveGenerator moveGenerator;
+    private final CostModel costModel;
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    public BidirectionalSearch() {
+        this(CostModel.CELLS_MOVED);
+    }
+
+    public BidirectionalSearch(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    private String getAlgorithmName() {
+        return "Bidirectional Search";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName());
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " (mencari path list)");
+        long[] statePath = search(start);
+        if (statePath == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        List<Board> boardPath = new ArrayList<>();
+        for (long state : statePath) {
+            boardPath.add(encoder.decode(state));
+        }
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName());
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    // Urutan state dari awal sampai tujuan, atau null jika tidak ada solusi
+    private long[] search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        moveGenerator = new MoveGenerator(encoder);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        long startKey = encoder.encode(start);
+
+        List<Long> goals = enumerateGoals();
+        if (goals == null) {
+            System.out.println("State tujuan lebih dari " + GOAL_LIMIT + ", beralih ke pencarian satu arah");
+            return forwardOnly(start, budget.remaining());
+        }
+        System.out.println("State tujuan: " + goals.size());
+
+        LongIntHashMap forwardCost = new LongIntHashMap();
+        LongIntHashMap backwardCost = new LongIntHashMap(goals.size() * 2);
+        LongHashSet forwardClosed = new LongHashSet();
+        LongHashSet backwardClosed = new LongHashSet();
+        PriorityQueue<Node> forwardOpen = new PriorityQueue<>();
+        PriorityQueue<Node> backwardOpen = new PriorityQueue<>();
+        budget.meterMemory(() -> forwardCost.memoryBytes() + backwardCost.memoryBytes() + forwardClosed.memoryBytes()
+                + backwardClosed.memoryBytes()
+                + (forwardOpen.size() + backwardOpen.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
+
+        forwardCost.put(startKey, 0);
+        forwardOpen.add(new Node(startKey, 0));
+        for (long goal : goals) {
+            backwardCost.put(goal, 0);
+            backwardOpen.add(new Node(goal, 0));
+        }
+
+        int best = backwardCost.containsKey(startKey) ? 0 : Integer.MAX_VALUE; // mu
+        long meeting = startKey;
+
+        // Berhenti jika minF + minB >= mu: tidak ada path lewat frontier yang bisa lebih murah
+        while (!forwardOpen.isEmpty() && !backwardOpen.isEmpty()) {
+            long lowerBound = (long) forwardOpen.peek().g + backwardOpen.peek().g;
+            if (best != Integer.MAX_VALUE && lowerBound >= best) {
+                break;
+            }
+            boolean forward = forwardOpen.size() <= backwardOpen.size();
+            PriorityQueue<Node> open = forward ? forwardOpen : backwardOpen;
+            LongIntHashMap cost = forward ? forwardCost : backwardCost;
+            LongIntHashMap otherCost = forward ? backwardCost : forwardCost;
+            LongHashSet closed = forward ? forwardClosed : backwardClosed;
+
+            long t = recorder.time();
+            Node current = open.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
+            if (current.g > cost.get(current.key, Integer.MAX_VALUE) || !closed.add(current.key)) {
+                recorder.lap(SearchMetrics.HASHING, t);
+                continue;
+            }
+            t = recorder.lap(SearchMetrics.HASHING, t);
+            nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, forwardOpen.size() + backwardOpen.size(),
+                    forwardClosed.size() + backwardClosed.size(), (int) lowerBound, current.g);
+
+            // Geseran bisa dibalik dengan biaya sama, jadi successor berlaku untuk kedua arah
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                int newG = current.g + costModel.cost(move.distance);
+                if (newG >= cost.get(move.key, Integer.MAX_VALUE)) continue;
+                cost.put(move.key, newG);
+                t = recorder.lap(SearchMetrics.HASHING, t);
+                open.add(new Node(move.key, newG));
+                t = recorder.lap(SearchMetrics.QUEUE, t);
+
+                int other = otherCost.get(move.key, Integer.MAX_VALUE);
+                if (other != Integer.MAX_VALUE && newG + other < best) {
+                    best = newG + other;
+                    meeting = move.key;
+                }
+            }
+            recorder.lap(SearchMetrics.HASHING, t);
+        }
+
+        recorder.finish(nodesExpanded, forwardOpen.size() + backwardOpen.size(),
+                forwardClosed.size() + backwardClosed.size(), best == Integer.MAX_VALUE ? -1 : best);
+
+        int tableSize = forwardCost.size() + backwardCost.size();
+        bytesPerState = (forwardCost.memoryBytes() + backwardCost.memoryBytes()
+                + forwardClosed.memoryBytes() + backwardClosed.memoryBytes()) / (double) Math.max(1, tableSize);
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
+        if (best == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        // Setiap label adalah panjang path nyata, jadi selalu ada tetangga dengan label tepat
+        // label - biaya geseran; ikuti turun sampai 0 di kedua sisi
+        List<Long> forwardPart = walkDown(meeting, forwardCost);
+        Collections.reverse(forwardPart);
+        List<Long> backwardPart = walkDown(meeting, backwardCost);
+        long[] path = new long[forwardPart.size() + backwardPart.size() - 1];
+        int n = 0;
+        for (long state : forwardPart) path[n++] = state;
+        for (int i = 1; i < backwardPart.size(); i++) path[n++] = backwardPart.get(i);
+
+        lastSummarizedStepCount = countSummarizedSteps(path);
+        return path;
+    }
+
+    private List<Long> walkDown(long from, LongIntHashMap cost) {
+        List<Long> states = new ArrayList<>();
+        long current = from;
+        states.add(current);
+        int g = cost.get(current, Integer.MAX_VALUE);
+        while (g > 0) {
+            for (Move move : moveGenerator.generate(current)) {
+                int previous = g - costModel.cost(move.distance);
+                if (previous >= 0 && cost.get(move.key, Integer.MAX_VALUE) == previous) {
+                    current = move.key;
+                    g = previous;
+                    break;
+                }
+            }
+            states.add(current);
+        }
+        return states;
+    }
+
+    // Langkah ringkas: geseran berurutan dari bidak dan arah yang sama dihitung satu
+    private int countSummarizedSteps(long[] path) {
+        int steps = 0;
+        int lastPiece = -1;
+        int lastSign = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (int piece = 0; piece < encoder.pieceCount; piece++) {
+                int delta = encoder.position(path[i], piece) - encoder.position(path[i - 1], piece);
+                if (delta == 0) continue;
+                int sign = Integer.signum(delta);
+                if (piece != lastPiece || sign != lastSign) steps++;
+                lastPiece = piece;
+                lastSign = sign;
+                break;
+            }
+        }
+        return steps;
+    }
+
+    // Semua penempatan tanpa tumpukan dengan bidak utama di pintu keluar, null jika melebihi GOAL_LIMIT
+    private List<Long> enumerateGoals() {
+        int p = encoder.primaryIndex;
+        int goalPosition = encoder.horizontal[p]
+                ? (encoder.exitCol == -1 ? 0 : encoder.cols - encoder.length[p])
+                : (encoder.exitRow == -1 ? 0 : encoder.rows - encoder.length[p]);
+        int[] positions = new int[encoder.pieceCount];
+        boolean[][] occupied = new boolean[encoder.rows][encoder.cols];
+        positions[p] = goalPosition;
+        mark(occupied, p, goalPosition, true);
+
+        List<Long> goals = new ArrayList<>();
+        return place(0, positions, occupied, goals) ? goals : null;
+    }
+
+    private boolean place(int piece, int[] positions, boolean[][] occupied, List<Long> goals) {
+        if (piece == encoder.pieceCount) {
+            if (goals.size() >= GOAL_LIMIT) return false;
+            goals.add(encoder.encode(positions));
+            return true;
+        }
+        if (piece == encoder.primaryIndex) {
+            return place(piece + 1, positions, occupied, goals);
+        }
+        for (int pos = 0; pos < encoder.positionCount[piece]; pos++) {
+            if (!fits(occupied, piece, pos)) continue;
+            positions[piece] = pos;
+            mark(occupied, piece, pos, true);
+            boolean ok = place(piece + 1, positions, occupied, goals);
+            mark(occupied, piece, pos, false);
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    private boolean fits(boolean[][] occupied, int piece, int pos) {
+        for (int k = 0; k < encoder.length[piece]; k++) {
+            if (encoder.horizontal[piece] ? occupied[encoder.lane[piece]][pos + k] : occupied[pos + k][encoder.lane[piece]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void mark(boolean[][] occupied, int piece, int pos, boolean value) {
+        for (int k = 0; k < encoder.length[piece]; k++) {
+            if (encoder.horizontal[piece]) {
+                occupied[encoder.lane[piece]][pos + k] = value;
+            } else {
+                occupied[pos + k][encoder.lane[piece]] = value;
+            }
+        }
+    }
+
+    private long[] forwardOnly(Board start, SearchLimits remaining) {
+        UCS fallback = new UCS(costModel);
+        fallback.setLimits(remaining);
+        fallback.setMetrics(metrics);
+        List<Board> boards = fallback.solveAndReturnPath(start);
+        nodesExpanded = fallback.getNodesExplored();
+        bytesPerState = fallback.getBytesPerState();
+        lastSummarizedStepCount = fallback.getLastSummarizedStepCount();
+        if (boards.isEmpty()) return null;
+        long[] path = new long[boards.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = encoder.encode(boards.get(i));
+        }
+        return path;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static class Node implements Comparable<Node> {
+        long key;
+        int g;
+
+        public Node(long key, int g) {
+            this.key = key;
+            this.g = g;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return Integer.compare(this.g, other.g);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Okupansi papan sebagai bitmask: bit (r * cols + c) menyala jika sel terisi.
+// Papan sampai 64 sel (mis. 8x8) cukup satu long, papan lebih besar memakai beberapa long.
+public class BitBoard {
+    // Mask baris dan kolom dihitung sekali per ukuran papan, lalu dipakai bersama
+    private static final Map<Long, long[][][]> MASKS = new ConcurrentHashMap<>();
+
+    public final int rows, cols;
+    private final long[] bits;
+    private final long[][] rowMasks; // [baris][word]
+    private final long[][] colMasks; // [kolom][word]
+
+    public BitBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.bits = new long[(rows * cols + 63) >>> 6];
+        long[][][] masks = MASKS.computeIfAbsent(((long) rows << 32) | cols, k -> buildMasks(rows, cols));
+        this.rowMasks = masks[0];
+        this.colMasks = masks[1];
+    }
+
+    public BitBoard(Board board) {
+        this(board.rows, board.cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (board.grid[r][c] != '.') set(r, c);
+            }
+        }
+    }
+
+    private static long[][][] buildMasks(int rows, int cols) {
+        int words = (rows * cols + 63) >>> 6;
+        long[][] rowMasks = new long[rows][words];
+        long[][] colMasks = new long[cols][words];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int bit = r * cols + c;
+                rowMasks[r][bit >>> 6] |= 1L << bit;
+                colMasks[c][bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new long[][][]{rowMasks, colMasks};
+    }
+
+    public void clear() {
+        for (int w = 0; w < bits.length; w++) bits[w] = 0L;
+    }
+
+    public void set(int r, int c) {
+        int bit = r * cols + c;
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    public boolean isOccupied(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return false;
+        int bit = r * cols + c;
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // Isi ulang dari posisi bidak pada state terenkode
+    public void fill(StateEncoder encoder, int[] positions) {
+        clear();
+        for (int i = 0; i < encoder.pieceCount; i++) {
+            for (int k = 0; k < encoder.length[i]; k++) {
+                if (encoder.horizontal[i]) {
+                    set(encoder.lane[i], positions[i] + k);
+                } else {
+                    set(positions[i] + k, encoder.lane[i]);
+                }
+            }
+        }
+    }
+
+    // Banyak sel kosong berturut-turut sebelum (r, c) di sepanjang baris (horizontal) atau kolom
+    public int freeBefore(int r, int c, boolean horizontal) {
+        int bit = r * cols + c;
+        int stride = horizontal ? 1 : cols;
+        if (bit - stride < 0) return 0;
+        int blocker = highestBelow(horizontal ? rowMasks[r] : colMasks[c], bit - stride);
+        if (blocker < 0) return horizontal ? c : r;
+        return (bit - blocker) / stride - 1;
+    }
+
+    // Banyak sel kosong berturut-turut sesudah (r, c) di sepanjang baris (horizontal) atau kolom
+    public int freeAfter(int r, int c, boolean horizontal) {
+        int bit = r * cols + c;
+        int stride = horizontal ? 1 : cols;
+        int blocker = lowestFrom(horizontal ? rowMasks[r] : colMasks[c], bit + stride);
+        if (blocker < 0) return horizontal ? cols - 1 - c : rows - 1 - r;
+        return (blocker - bit) / stride - 1;
+    }
+
+    // Bit terisi terendah di dalam mask dengan indeks >= from, atau -1
+    private int lowestFrom(long[] mask, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) return -1;
+        long word = bits[w] & mask[w] & (-1L << from);
+        while (word == 0) {
+            if (++w >= bits.length) return -1;
+            word = bits[w] & mask[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    // Bit terisi tertinggi di dalam mask dengan indeks <= to, atau -1
+    private int highestBelow(long[] mask, int to) {
+        int w = to >>> 6;
+        long word = bits[w] & mask[w] & (-1L >>> (63 - (to & 63)));
+        while (word == 0) {
+            if (--w < 0) return -1;
+            word = bits[w] & mask[w];
+        }
+        return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+}
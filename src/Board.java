@@ -250,6 +250,19 @@ public class Board {
     // Konstruktor private untuk clone
     private Board() {}
 
+    // Papan kosong dengan ukuran dan pintu keluar tertentu, bidak diisi oleh pemanggil (StateEncoder.decode)
+    Board(int rows, int cols, int exitRow, int exitCol) {
+        this.rows = rows;
+        this.cols = cols;
+        this.exitRow = exitRow;
+        this.exitCol = exitCol;
+        this.grid = new char[rows][cols];
+        for (char[] row : grid) {
+            Arrays.fill(row, '.');
+        }
+        this.pieces = new ArrayList<>();
+    }
+
     private void determineAndSetOrientation(Piece piece) {
         if (piece.cells.isEmpty()) {
             piece.setOrientation(PieceOrientation.OTHER); 
@@ -0,0 +1,99 @@
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+// Open list Dial: bucket diindeks prioritas utama (g untuk UCS, f untuk A*), di dalamnya
+// sub-bucket per prioritas kedua (h untuk A*, tie-breaking h terkecil dulu). Biaya geser dan
+// nilai heuristik adalah integer kecil, jadi push/pop O(1) tanpa compareTo. Isi satu sub-bucket
+// diambil LIFO. Array bucket dilepas begitu kosong, jadi memori frontier ikut menyusut saat
+// pencarian melewati nilai f lama (PriorityQueue tidak pernah mengecil).
+public class BucketOpenList<T> implements OpenList<T> {
+    private static final int INITIAL_STACK = 8;
+
+    private final ToIntFunction<T> primary;
+    private final ToIntFunction<T> secondary;   // null = tanpa sub-bucket
+    private Level[] levels = new Level[64];
+    private int minPrimary = Integer.MAX_VALUE;
+    private int size;
+
+    private static class Level {
+        Object[][] stacks = new Object[1][];
+        int[] counts = new int[1];
+        int minSecondary = Integer.MAX_VALUE;
+        int size;
+    }
+
+    public BucketOpenList(ToIntFunction<T> primary) {
+        this(primary, null);
+    }
+
+    public BucketOpenList(ToIntFunction<T> primary, ToIntFunction<T> secondary) {
+        this.primary = primary;
+        this.secondary = secondary;
+    }
+
+    @Override
+    public void add(T item) {
+        int p = primary.applyAsInt(item);
+        int s = secondary == null ? 0 : secondary.applyAsInt(item);
+        if (p >= levels.length) {
+            levels = Arrays.copyOf(levels, Math.max(levels.length * 2, p + 1));
+        }
+        Level level = levels[p];
+        if (level == null) {
+            level = levels[p] = new Level();
+        }
+        if (s >= level.stacks.length) {
+            int length = Math.max(level.stacks.length * 2, s + 1);
+            level.stacks = Arrays.copyOf(level.stacks, length);
+            level.counts = Arrays.copyOf(level.counts, length);
+        }
+        Object[] stack = level.stacks[s];
+        int count = level.counts[s];
+        if (stack == null) {
+            stack = level.stacks[s] = new Object[INITIAL_STACK];
+        } else if (count == stack.length) {
+            stack = level.stacks[s] = Arrays.copyOf(stack, count * 2);
+        }
+        stack[count] = item;
+        level.counts[s] = count + 1;
+        level.size++;
+        level.minSecondary = Math.min(level.minSecondary, s);
+        // Heuristik tidak konsisten bisa menghasilkan f lebih kecil dari minimum saat ini
+        minPrimary = Math.min(minPrimary, p);
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) return null;
+        while (levels[minPrimary] == null) {
+            minPrimary++;
+        }
+        Level level = levels[minPrimary];
+        while (level.counts[level.minSecondary] == 0) {
+            level.minSecondary++;
+        }
+        int s = level.minSecondary;
+        Object[] stack = level.stacks[s];
+        int count = --level.counts[s];
+        T item = (T) stack[count];
+        stack[count] = null;
+        size--;
+        if (--level.size == 0) {
+            levels[minPrimary] = null;
+            minPrimary = size == 0 ? Integer.MAX_VALUE : minPrimary + 1;
+        }
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
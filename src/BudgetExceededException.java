@@ -0,0 +1,29 @@
+import java.util.concurrent.CancellationException;
+
+// Pencarian berhenti karena salah satu batas SearchLimits, bukan karena selesai. Turunan
+// CancellationException agar pemanggil lama yang menangkap pembatalan tetap bekerja.
+public class BudgetExceededException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        CANCELLED, DEADLINE, NODES, MEMORY
+    }
+
+    private final Reason reason;
+    private final long nodesExplored;
+
+    public BudgetExceededException(Reason reason, long nodesExplored, String message) {
+        super(message);
+        this.reason = reason;
+        this.nodesExplored = nodesExplored;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    // Statistik parsial: node yang sudah diekspansi saat batas tercapai
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Membungkus Solver lain: solveAndReturnPath memeriksa SolutionCache sebelum mencari, dan
+// menyimpan hasil pencarian yang selesai. Pencarian yang dihentikan (interupsi/timeout) dan
+// "tidak ada solusi" dari solver yang tidak menjelajah seluruh ruang pencarian (isComplete)
+// tidak pernah disimpan agar "tidak ada solusi" palsu tidak masuk cache.
+public class CachingSolver implements Solver {
+    private final Solver delegate;
+    private final SolutionCache cache;
+    private final String solverConfig;
+    private int nodesExplored;
+    private int lastSummarizedStepCount;
+    private double bytesPerState;
+
+    public CachingSolver(Solver delegate, SolutionCache cache, String solverConfig) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.solverConfig = solverConfig;
+    }
+
+    @Override
+    public void solve(Board start) {
+        delegate.solve(start);
+        copyStatistics();
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        StateEncoder encoder = new StateEncoder(start);
+        Symmetry.Canonical canonical = Symmetry.Canonical.of(encoder, encoder.encode(start));
+        String key = SolutionCache.key(canonical.key, solverConfig);
+        SolutionCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            System.out.println("Solusi diambil dari cache (pencarian asli: " + entry.nodesExplored + " node)");
+            // Tidak ada node yang dieksplorasi untuk hit; statistik lain dari pencarian asli
+            nodesExplored = 0;
+            lastSummarizedStepCount = entry.summarizedSteps;
+            bytesPerState = entry.bytesPerState;
+            if (entry.path.length == 0) {
+                System.out.println("Tidak ditemukan solusi!");
+                return new ArrayList<>();
+            }
+            List<Board> path = new ArrayList<>(entry.path.length);
+            for (int[] positions : entry.path) {
+                path.add(encoder.decode(encoder.encode(canonical.fromCanonical(positions))));
+            }
+            return path;
+        }
+
+        List<Board> path = delegate.solveAndReturnPath(start);
+        copyStatistics();
+        if (!Thread.currentThread().isInterrupted() && (!path.isEmpty() || delegate.isComplete())) {
+            int[][] positions = new int[path.size()][];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = canonical.toCanonical(encoder.positions(encoder.encode(path.get(i))));
+            }
+            cache.put(key, new SolutionCache.Entry(positions, nodesExplored, lastSummarizedStepCount, bytesPerState));
+        }
+        return path;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        delegate.setLimits(limits);
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        delegate.setMetrics(metrics);
+    }
+
+    @Override
+    public void setSolutionListener(SolutionListener listener) {
+        delegate.setSolutionListener(listener);
+    }
+
+    private void copyStatistics() {
+        nodesExplored = delegate.getNodesExplored();
+        lastSummarizedStepCount = delegate.getLastSummarizedStepCount();
+        bytesPerState = delegate.getBytesPerState();
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExplored;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return delegate.isComplete();
+    }
+}
@@ -0,0 +1,13 @@
+// Token pembatalan kooperatif: pemanggil (mis. tombol "Hentikan" di GUI) memanggil cancel(),
+// solver berhenti di pengecekan SearchLimits berikutnya.
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,272 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.List;
+
+// Mode non-interaktif untuk skrip dan pipeline, aktif jika Main dipanggil dengan flag "--".
+// Contoh: java -cp bin Main --algo astar --heuristic manhattan --input test/input --output json --timeout 5s --threads 4
+public class CommandLine {
+    // Kode keluar
+    public static final int EXIT_SOLVED = 0;        // semua puzzle terselesaikan
+    public static final int EXIT_NO_SOLUTION = 1;   // ada puzzle yang tidak memiliki solusi
+    public static final int EXIT_USAGE = 2;         // flag tidak valid
+    public static final int EXIT_INPUT_ERROR = 3;   // file tidak ada atau puzzle tidak valid
+    public static final int EXIT_TIMEOUT = 4;       // ada puzzle yang melewati --timeout
+    public static final int EXIT_BUDGET = 5;        // ada puzzle yang melewati --max-nodes/--max-memory
+
+    // Urutan mengikuti konstanta tipe di Heuristic
+    private static final String[] HEURISTIC_NAMES = {"manhattan", "euclidean", "obstacle", "blocking", "blocking2", "pdb"};
+    private static final String[] COST_NAMES = {"cells", "moves"};
+    private static final String[] OUTPUT_FORMATS = {"text", "csv", "json"};
+    // Urutan mengikuti OpenList.Type
+    private static final String[] QUEUE_NAMES = {"heap", "bucket"};
+    private static final String[] METRICS_FORMATS = {"off", "console", "jsonl"};
+
+    private String algorithm = SolverFactory.ASTAR;
+    private int heuristicType = Heuristic.MANHATTAN;
+    private CostModel costModel = CostModel.CELLS_MOVED;
+    private OpenList.Type queueType = OpenList.Type.HEAP;
+    private String input;
+    private String output = "text";
+    private String reportPath;
+    private long timeoutMillis;
+    private long maxNodes;
+    private long maxMemoryBytes;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String cacheDirectory;
+    private String scratchDirectory;
+    private long maxScratchBytes;
+    private String metricsFormat = "off";
+    private String metricsPath;
+    private long metricsIntervalMillis = SearchMetrics.DEFAULT_INTERVAL_MILLIS;
+
+    public static boolean isFlagMode(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) return true;
+        }
+        return false;
+    }
+
+    public static int run(String[] args) {
+        CommandLine cli = new CommandLine();
+        try {
+            if (!cli.parse(args)) {
+                printUsage(System.out);
+                return EXIT_SOLVED;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("error: " + e.getMessage());
+            printUsage(System.err);
+            return EXIT_USAGE;
+        }
+        return cli.execute();
+    }
+
+    // Mengembalikan false jika hanya diminta --help
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String flag = args[i];
+            if (flag.equals("--help") || flag.equals("-h")) return false;
+            if (!flag.startsWith("--")) {
+                throw new IllegalArgumentException("argumen tidak dikenal: " + flag);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(flag + " membutuhkan nilai");
+            }
+            String value = args[++i];
+            switch (flag) {
+                case "--algo" -> {
+                    SolverFactory.getAlgorithmName(value); // validasi
+                    algorithm = value.toLowerCase();
+                }
+                case "--heuristic" -> heuristicType = choice(flag, value, HEURISTIC_NAMES);
+                case "--cost" -> costModel = CostModel.values()[choice(flag, value, COST_NAMES)];
+                case "--queue" -> queueType = OpenList.Type.values()[choice(flag, value, QUEUE_NAMES)];
+                case "--input" -> input = value;
+                case "--output" -> output = OUTPUT_FORMATS[choice(flag, value, OUTPUT_FORMATS)];
+                case "--report" -> reportPath = value;
+                case "--timeout" -> timeoutMillis = parseDuration(value);
+                case "--max-nodes" -> maxNodes = parseInt(flag, value);
+                case "--max-memory" -> maxMemoryBytes = parseSize(value);
+                case "--cache" -> cacheDirectory = value;
+                case "--scratch" -> scratchDirectory = value;
+                case "--max-scratch" -> maxScratchBytes = parseSize(value);
+                case "--metrics" -> metricsFormat = METRICS_FORMATS[choice(flag, value, METRICS_FORMATS)];
+                case "--metrics-file" -> metricsPath = value;
+                case "--metrics-interval" -> {
+                    metricsIntervalMillis = parseDuration(value);
+                    if (metricsIntervalMillis < 1) throw new IllegalArgumentException("--metrics-interval harus minimal 1ms");
+                }
+                case "--threads" -> {
+                    threads = parseInt(flag, value);
+                    if (threads < 1) throw new IllegalArgumentException("--threads harus minimal 1");
+                }
+                default -> throw new IllegalArgumentException("flag tidak dikenal: " + flag);
+            }
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("--input wajib diisi");
+        }
+        return true;
+    }
+
+    private int execute() {
+        File source = new File(input);
+        if (!source.exists()) {
+            System.err.println("error: input tidak ditemukan: " + input);
+            return EXIT_INPUT_ERROR;
+        }
+
+        if (cacheDirectory != null) {
+            SolutionCache.configure(cacheDirectory.equalsIgnoreCase("off") ? null : new SolutionCache(new File(cacheDirectory), 1024));
+        }
+        SolutionCache cache = SolutionCache.shared();
+        ExternalBFS.configure(scratchDirectory == null ? ExternalBFS.getDefaultDirectory() : new File(scratchDirectory),
+                maxScratchBytes);
+
+        PrintStream console = System.out;
+        BatchSolver.Result result;
+        try {
+            List<File> puzzles = source.isDirectory() || !looksLikePuzzle(source)
+                    ? BatchSolver.listPuzzles(source) : List.of(source);
+            // Batch sudah menjalankan --threads puzzle sekaligus; solver paralel hanya memakai --threads
+            // thread sendiri jika inputnya satu puzzle, agar tidak ada threads x core thread pencarian
+            SolverFactory.configureThreads(puzzles.size() == 1 ? threads : 1);
+            BatchSolver batch = new BatchSolver(algorithm, heuristicType, costModel, queueType, threads,
+                    timeoutMillis, maxNodes, maxMemoryBytes);
+            boolean textMode = output.equals("text");
+
+            // Metrik langsung ke stderr (stdout bisa berisi laporan) atau ke --metrics-file
+            Closeable metricsFile = null;
+            if (metricsFormat.equals("console")) {
+                PrintStream out = metricsPath == null ? System.err : new PrintStream(new FileOutputStream(metricsPath), true);
+                if (metricsPath != null) metricsFile = out;
+                batch.setMetrics(new ConsoleMetricsReporter(out), metricsIntervalMillis);
+            } else if (metricsFormat.equals("jsonl")) {
+                JsonLinesMetricsReporter json = new JsonLinesMetricsReporter(metricsPath == null
+                        ? new OutputStreamWriter(System.err) : new FileWriter(metricsPath));
+                if (metricsPath != null) metricsFile = json;
+                batch.setMetrics(json, metricsIntervalMillis);
+            }
+
+            BatchReport report = null;
+            if (!textMode) {
+                Writer writer = reportPath == null ? new OutputStreamWriter(console) : new FileWriter(reportPath);
+                report = new BatchReport(writer, BatchReport.Format.valueOf(output.toUpperCase()));
+            }
+            // Log solver hanya berguna untuk satu puzzle di mode teks
+            if (!textMode || puzzles.size() > 1) {
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            }
+
+            long startTime = System.currentTimeMillis();
+            try {
+                result = batch.run(puzzles, report, textMode ? console : null);
+            } finally {
+                System.setOut(console);
+                if (report != null) report.close();
+                if (metricsFile != null) metricsFile.close();
+            }
+            long elapsed = System.currentTimeMillis() - startTime;
+
+            PrintStream summary = textMode ? console : System.err;
+            summary.println(SolverFactory.getAlgorithmName(algorithm) + ": " + result.solved + "/" + result.total()
+                    + " puzzle terselesaikan dalam " + elapsed + " ms (" + threads + " thread)");
+            if (cache != null) {
+                summary.println("Cache solusi: " + cache.getMemoryHits() + " hit memori, " + cache.getDiskHits() + " hit disk, "
+                        + cache.getMisses() + " miss, " + cache.getEvictions() + " eviction");
+            }
+        } catch (IOException e) {
+            System.err.println("Error membaca/menulis file: " + e.getMessage());
+            return EXIT_INPUT_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_TIMEOUT;
+        }
+
+        if (result.error > 0) return EXIT_INPUT_ERROR;
+        if (result.timeout > 0) return EXIT_TIMEOUT;
+        if (result.budgetExceeded > 0) return EXIT_BUDGET;
+        if (result.noSolution > 0) return EXIT_NO_SOLUTION;
+        return EXIT_SOLVED;
+    }
+
+    // File puzzle diawali "<rows> <cols>", selain itu dianggap manifest
+    private static boolean looksLikePuzzle(File file) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String first = br.readLine();
+            return first != null && first.trim().matches("-?\\d+\\s+-?\\d+");
+        }
+    }
+
+    private static int choice(String flag, String value, String[] names) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(value) || String.valueOf(i + 1).equals(value)) return i;
+        }
+        throw new IllegalArgumentException(flag + " harus salah satu dari: " + String.join(", ", names));
+    }
+
+    private static int parseInt(String flag, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(flag + " harus berupa angka: " + value);
+        }
+    }
+
+    // "500ms", "5s", "2m", atau angka saja (detik)
+    static long parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        try {
+            if (v.endsWith("ms")) return Long.parseLong(v.substring(0, v.length() - 2));
+            if (v.endsWith("s")) return Long.parseLong(v.substring(0, v.length() - 1)) * 1000;
+            if (v.endsWith("m")) return Long.parseLong(v.substring(0, v.length() - 1)) * 60_000;
+            return Long.parseLong(v) * 1000;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("durasi tidak valid: " + value);
+        }
+    }
+
+    // "512m", "2g", "64k", atau angka saja (byte)
+    static long parseSize(String value) {
+        String v = value.trim().toLowerCase();
+        try {
+            if (v.endsWith("k")) return Long.parseLong(v.substring(0, v.length() - 1)) << 10;
+            if (v.endsWith("m")) return Long.parseLong(v.substring(0, v.length() - 1)) << 20;
+            if (v.endsWith("g")) return Long.parseLong(v.substring(0, v.length() - 1)) << 30;
+            return Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ukuran memori tidak valid: " + value);
+        }
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Penggunaan: java -cp bin Main --input <file|folder|manifest> [opsi]");
+        out.println("  --algo <" + String.join("|", SolverFactory.ALGORITHMS) + ">   (default: astar)");
+        out.println("  --heuristic <" + String.join("|", HEURISTIC_NAMES) + ">   (default: manhattan)");
+        out.println("  --cost <" + String.join("|", COST_NAMES) + ">   (default: cells)");
+        out.println("  --queue <" + String.join("|", QUEUE_NAMES) + ">   open list UCS/A* (default: heap)");
+        out.println("  --output <" + String.join("|", OUTPUT_FORMATS) + ">   (default: text)");
+        out.println("  --report <file>      tulis laporan csv/json ke file, bukan ke layar");
+        out.println("  --timeout <durasi>   batas waktu per puzzle, mis. 500ms, 5s, 2m");
+        out.println("  --max-nodes <N>      batas node yang diekspansi per puzzle");
+        out.println("  --max-memory <ukuran> batas memori tabel state/open list per puzzle, mis. 512m, 2g");
+        out.println("  --threads <N>        banyaknya puzzle yang diselesaikan bersamaan (satu puzzle: thread solver paralel)");
+        out.println("  --cache <folder|off> simpan cache solusi juga di disk, off mematikan cache (default: memori saja)");
+        out.println("  --scratch <folder>   folder file sementara untuk ebfs (default: " + ExternalBFS.getDefaultDirectory().getPath() + ")");
+        out.println("  --max-scratch <ukuran> batas ukuran file sementara ebfs per puzzle, mis. 10g");
+        out.println("  --metrics <" + String.join("|", METRICS_FORMATS) + ">   metrik langsung selama pencarian (default: off)");
+        out.println("  --metrics-file <file> tulis metrik ke file, bukan ke stderr");
+        out.println("  --metrics-interval <durasi> jarak antar sampel metrik (default: 1s)");
+        out.println("Kode keluar: 0 semua terselesaikan, 1 ada yang tanpa solusi, 2 flag tidak valid,");
+        out.println("             3 input tidak valid, 4 melewati batas waktu, 5 melewati batas node/memori");
+    }
+}
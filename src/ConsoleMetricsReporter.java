@@ -0,0 +1,42 @@
+import java.io.PrintStream;
+import java.util.Locale;
+
+// Menulis setiap sampel SearchMetrics sebagai satu baris yang mudah dibaca manusia
+public class ConsoleMetricsReporter implements SearchListener {
+    private final PrintStream out;
+
+    public ConsoleMetricsReporter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onSample(SearchMetrics.Snapshot snapshot) {
+        out.println(format(snapshot));
+    }
+
+    @Override
+    public void onFinish(SearchMetrics.Snapshot snapshot) {
+        out.println(format(snapshot));
+    }
+
+    public static String format(SearchMetrics.Snapshot s) {
+        StringBuilder sb = new StringBuilder();
+        if (!s.label.isEmpty()) sb.append('[').append(s.label).append("] ");
+        sb.append(s.algorithm).append(s.finished ? " selesai " : " ")
+          .append(String.format(Locale.ROOT, "%.1f s: %d node (%.0f node/s%s)", s.elapsedMillis / 1000.0, s.nodes,
+                  s.nodesPerSecond, s.finished ? " rata-rata" : ""));
+        if (s.openSize >= 0) sb.append(", open ").append(s.openSize);
+        if (s.closedSize >= 0) sb.append(", closed ").append(s.closedSize);
+        if (s.f >= 0) sb.append(", f ").append(s.f);
+        if (s.maxDepth >= 0) sb.append(", kedalaman ").append(s.maxDepth);
+        sb.append(", heap ").append(s.heapBytes >> 20).append(" MB");
+        if (s.bytesPerNode >= 0) sb.append(String.format(Locale.ROOT, " (%.1f byte/node)", s.bytesPerNode));
+        if (s.phaseShare(SearchMetrics.MOVES) + s.phaseShare(SearchMetrics.HASHING) + s.phaseShare(SearchMetrics.HEURISTIC)
+                + s.phaseShare(SearchMetrics.QUEUE) > 0) {
+            sb.append(String.format(Locale.ROOT, ", gerak %.0f%% hash %.0f%% heuristik %.0f%% antrean %.0f%%",
+                    100 * s.phaseShare(SearchMetrics.MOVES), 100 * s.phaseShare(SearchMetrics.HASHING),
+                    100 * s.phaseShare(SearchMetrics.HEURISTIC), 100 * s.phaseShare(SearchMetrics.QUEUE)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+public enum CostModel {
+    CELLS_MOVED,  // biaya = jumlah sel yang dilalui bidak
+    PIECE_MOVES;  // biaya = 1 per geseran bidak, sejauh apa pun
+
+    public int cost(int distance) {
+        return this == CELLS_MOVED ? distance : 1;
+    }
+
+    public String getName() {
+        return switch (this) {
+            case CELLS_MOVED -> "Jumlah sel digeser";
+            case PIECE_MOVES -> "Jumlah gerakan bidak";
+        };
+    }
+}
@@ -0,0 +1,616 @@
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// BFS per lapisan dengan frontier dan visited set di disk, untuk papan besar yang ruang state-nya
+// tidak muat di heap. Setiap lapisan adalah file berisi state yang terurut dan unik, masing-masing
+// record berisi word mentah StateEncoder (satu long, atau beberapa long untuk papan > 64 bit, tanpa
+// id intern di heap) yang dibandingkan word per word. Successor satu lapisan dikumpulkan di buffer, diurutkan, lalu ditulis sebagai
+// run ke file memory-mapped; semua run digabung dengan merge k-arah yang sekaligus membuang
+// duplikat dan state yang sudah ada di dua lapisan terakhir (langkah Rush Hour bisa dibalik, jadi
+// successor lapisan d hanya bisa berada di lapisan d-1, d, atau d+1). Tidak ada hash lookup:
+// semua akses file berurutan, kecuali binary search saat membangun ulang path. Seperti Parallel
+// BFS setiap langkah berbiaya 1, jadi hasilnya optimal untuk kedua model biaya.
+public class ExternalBFS implements Solver {
+    public static final int DEFAULT_BUFFER_STATES = 1 << 21;  // 16 MB heap per word untuk buffer successor
+    private static final int MIN_BUFFER_STATES = 1 << 10;
+    private static final int MAX_FAN_IN = 64;                  // run yang digabung sekaligus
+    private static final long MIN_WINDOW_BYTES = 1 << 13;      // mapping file tumbuh 8 KB .. 4 MB
+    private static final long MAX_WINDOW_BYTES = 1 << 22;
+
+    // Folder dan batas scratch untuk solver yang dibuat lewat SolverFactory (CLI/GUI)
+    private static File defaultDirectory = new File(System.getProperty("java.io.tmpdir"));
+    private static long defaultMaxScratchBytes = 0;
+
+    private StateEncoder encoder;
+    private final CostModel costModel;
+    private final File scratchDirectory;
+    private final long maxScratchBytes;   // 0 = tanpa batas
+    private final int bufferStates;       // 0 = DEFAULT_BUFFER_STATES atau dari --max-memory
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchLimits.Budget budget;
+    private SearchMetrics.Recorder recorder;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+    private int width;                    // long per state (encoder.wordCount())
+    private long[] buffer;                // record successor, tumbuh dua kali lipat sampai bufferLimit state
+    private int bufferLimit;
+    private int maxSuccessors;            // MoveGenerator.maxSuccessors(), ruang kosong minimal sebelum ekspansi
+
+    public static synchronized void configure(File directory, long maxScratchBytes) {
+        defaultDirectory = directory;
+        defaultMaxScratchBytes = maxScratchBytes;
+    }
+
+    public static synchronized File getDefaultDirectory() {
+        return defaultDirectory;
+    }
+
+    public static synchronized long getDefaultMaxScratchBytes() {
+        return defaultMaxScratchBytes;
+    }
+
+    public ExternalBFS() {
+        this(CostModel.CELLS_MOVED);
+    }
+
+    public ExternalBFS(CostModel costModel) {
+        this(costModel, getDefaultDirectory(), getDefaultMaxScratchBytes());
+    }
+
+    public ExternalBFS(CostModel costModel, File scratchDirectory, long maxScratchBytes) {
+        this(costModel, scratchDirectory, maxScratchBytes, 0);
+    }
+
+    public ExternalBFS(CostModel costModel, File scratchDirectory, long maxScratchBytes, int bufferStates) {
+        this.costModel = costModel;
+        this.scratchDirectory = scratchDirectory;
+        this.maxScratchBytes = Math.max(0, maxScratchBytes);
+        this.bufferStates = bufferStates > 0 ? Math.max(MIN_BUFFER_STATES, bufferStates) : 0;
+    }
+
+    private String getAlgorithmName() {
+        return "External BFS";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + ", scratch di " + scratchDirectory.getPath());
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + ", scratch di " + scratchDirectory.getPath() + " (mencari path list)");
+        long[] statePath = search(start);
+        if (statePath == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        List<Board> boardPath = new ArrayList<>();
+        for (long state : statePath) {
+            boardPath.add(encoder.decode(state));
+        }
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName());
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    // Buffer successor dibatasi seperempat --max-memory jika ada
+    private int bufferCapacity() {
+        int capacity = bufferStates > 0 ? bufferStates : DEFAULT_BUFFER_STATES;
+        if (limits.maxMemoryBytes > 0) {
+            capacity = (int) Math.min(capacity, Math.max(MIN_BUFFER_STATES, limits.maxMemoryBytes / 4 / ((long) Long.BYTES * width)));
+        }
+        return capacity;
+    }
+
+    private long[] search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        width = encoder.wordCount();
+        budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        MoveGenerator moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+        long[] startWords = new long[width];
+        encoder.pack(encoder.positions(encoder.encode(start)), startWords, 0);
+        maxSuccessors = moveGenerator.maxSuccessors();
+        bufferLimit = Math.max(bufferCapacity(), maxSuccessors);
+        buffer = new long[Math.min(bufferLimit, MIN_BUFFER_STATES) * width];
+        // Hanya buffer successor yang ada di heap; lapisan dibatasi --max-scratch
+        budget.meterMemory(() -> buffer.length * (long) Long.BYTES);
+
+        long[] solution = null;
+        long stored = 1;
+        long peakScratch;
+        try (Scratch scratch = new Scratch(scratchDirectory, maxScratchBytes)) {
+            List<Run> layers = new ArrayList<>();
+            Run first = scratch.newRun();
+            try (RunWriter writer = new RunWriter(scratch, first)) {
+                writer.add(startWords, 0);
+            }
+            if (encoder.isGoal(startWords, 0)) first.markGoal(startWords, 0);
+            layers.add(first);
+
+            while (!layers.get(layers.size() - 1).hasGoal) {
+                Run frontier = layers.get(layers.size() - 1);
+                Run previous = layers.size() > 1 ? layers.get(layers.size() - 2) : null;
+                List<Run> runs = expandLayer(scratch, frontier, moveGenerator, stored, layers.size() - 1);
+
+                long t = recorder.time();
+                while (runs.size() > MAX_FAN_IN) {
+                    runs = mergeGroups(scratch, runs);
+                }
+                Run next = merge(scratch, runs, previous, frontier, true);
+                for (Run run : runs) {
+                    scratch.delete(run);
+                }
+                recorder.lap(SearchMetrics.HASHING, t);
+                if (next.count == 0) {
+                    scratch.delete(next);
+                    break;
+                }
+                layers.add(next);
+                stored += next.count;
+                recorder.sampleNow(nodesExpanded, next.count, stored, -1, layers.size() - 1);
+            }
+
+            Run last = layers.get(layers.size() - 1);
+            if (last.hasGoal) {
+                solution = rebuildPath(layers, last.goal, moveGenerator);
+            }
+            peakScratch = scratch.peak;
+            recorder.finish(nodesExpanded, last.count, stored, -1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal memakai scratch " + scratchDirectory.getPath() + ": " + e.getMessage(), e);
+        }
+
+        bytesPerState = buffer.length * (double) Long.BYTES / Math.max(1, stored);
+        buffer = null;
+        System.out.println("State tersimpan: " + stored + ", scratch puncak " + String.format("%.1f", peakScratch / (1024.0 * 1024.0)) + " MB");
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state (heap)");
+        if (solution != null) {
+            lastSummarizedStepCount = countSummarizedSteps(solution);
+        }
+        return solution;
+    }
+
+    // Baca frontier berurutan dan tulis successor-nya sebagai run terurut setiap kali buffer penuh
+    private List<Run> expandLayer(Scratch scratch, Run frontier, MoveGenerator moveGenerator, long stored, int depth)
+            throws IOException {
+        List<Run> runs = new ArrayList<>();
+        int count = 0;
+        try (RunReader reader = new RunReader(frontier)) {
+            while (reader.hasNext()) {
+                nodesExpanded++;
+                budget.check(nodesExpanded);
+                recorder.sample(nodesExpanded, frontier.count, stored, -1, depth);
+                // Successor ditulis langsung ke buffer, jadi harus ada ruang untuk semua successor satu state
+                int capacity = buffer.length / width;
+                if (count + maxSuccessors > capacity && capacity < bufferLimit) {
+                    capacity = (int) Math.min(bufferLimit, Math.max(capacity * 2L, count + maxSuccessors));
+                    buffer = Arrays.copyOf(buffer, capacity * width);
+                }
+                if (count + maxSuccessors > capacity) {
+                    runs.add(writeSorted(scratch, buffer, count));
+                    count = 0;
+                }
+                long t = recorder.time();
+                count += moveGenerator.generateWords(reader.peek(), 0, buffer, count * width);
+                reader.advance();
+                recorder.lap(SearchMetrics.MOVES, t);
+            }
+        }
+        if (count > 0) {
+            runs.add(writeSorted(scratch, buffer, count));
+        }
+        return runs;
+    }
+
+    private Run writeSorted(Scratch scratch, long[] states, int count) throws IOException {
+        long t = recorder.time();
+        if (width == 1) {
+            Arrays.sort(states, 0, count);
+        } else {
+            sortRecords(states, 0, count - 1, new long[width]);
+        }
+        Run run = scratch.newRun();
+        try (RunWriter writer = new RunWriter(scratch, run)) {
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || compare(states, i * width, states, (i - 1) * width, width) != 0) writer.add(states, i * width);
+            }
+        }
+        recorder.lap(SearchMetrics.HASHING, t);
+        return run;
+    }
+
+    // Quicksort record width long (indeks low..high inklusif); Arrays.sort hanya untuk satu word
+    private void sortRecords(long[] records, int low, int high, long[] pivot) {
+        while (high - low > 16) {
+            System.arraycopy(records, ((low + high) >>> 1) * width, pivot, 0, width);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(records, i * width, pivot, 0, width) < 0) i++;
+                while (compare(records, j * width, pivot, 0, width) > 0) j--;
+                if (i <= j) swapRecords(records, i++, j--);
+            }
+            // Rekursi ke bagian yang lebih kecil agar kedalaman stack O(log n)
+            if (j - low < high - i) {
+                sortRecords(records, low, j, pivot);
+                low = i;
+            } else {
+                sortRecords(records, i, high, pivot);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(records, (j - 1) * width, records, j * width, width) > 0; j--) {
+                swapRecords(records, j - 1, j);
+            }
+        }
+    }
+
+    private void swapRecords(long[] records, int a, int b) {
+        for (int w = 0; w < width; w++) {
+            long tmp = records[a * width + w];
+            records[a * width + w] = records[b * width + w];
+            records[b * width + w] = tmp;
+        }
+    }
+
+    // Urutan record: word per word dari word pertama
+    private static int compare(long[] a, int aOffset, long[] b, int bOffset, int width) {
+        if (width == 1) return Long.compare(a[aOffset], b[bOffset]);
+        for (int w = 0; w < width; w++) {
+            int c = Long.compare(a[aOffset + w], b[bOffset + w]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    // Terlalu banyak run untuk dibuka sekaligus: gabung per MAX_FAN_IN run dulu
+    private List<Run> mergeGroups(Scratch scratch, List<Run> runs) throws IOException {
+        List<Run> merged = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+            List<Run> group = runs.subList(from, Math.min(runs.size(), from + MAX_FAN_IN));
+            if (group.size() == 1) {
+                merged.add(group.get(0));
+                continue;
+            }
+            merged.add(merge(scratch, group, null, null, false));
+            for (Run run : group) {
+                scratch.delete(run);
+            }
+        }
+        return merged;
+    }
+
+    // Merge k-arah: hasilnya terurut dan unik, tanpa state yang ada di previous atau current.
+    // Dengan stopAtGoal, merge berhenti di state tujuan pertama (lapisan terakhir tidak perlu lengkap).
+    private Run merge(Scratch scratch, List<Run> runs, Run previous, Run current, boolean stopAtGoal) throws IOException {
+        Run out = scratch.newRun();
+        PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> compare(a.peek(), 0, b.peek(), 0, width));
+        RunReader previousReader = previous == null ? null : new RunReader(previous);
+        RunReader currentReader = current == null ? null : new RunReader(current);
+        try (RunWriter writer = new RunWriter(scratch, out)) {
+            for (Run run : runs) {
+                RunReader reader = new RunReader(run);
+                if (reader.hasNext()) heads.add(reader); else reader.close();
+            }
+            long[] state = new long[width];
+            long[] last = new long[width];
+            boolean first = true;
+            long merged = 0;
+            while (!heads.isEmpty()) {
+                RunReader head = heads.poll();
+                System.arraycopy(head.peek(), 0, state, 0, width);
+                head.advance();
+                if (head.hasNext()) heads.add(head); else head.close();
+                if ((++merged & 0xFFFF) == 0) budget.checkNow(nodesExpanded);
+                if (!first && compare(state, 0, last, 0, width) == 0) continue;
+                first = false;
+                long[] swap = last;
+                last = state;
+                state = swap;
+                if (contains(previousReader, last) || contains(currentReader, last)) continue;
+                writer.add(last, 0);
+                if (stopAtGoal && encoder.isGoal(last, 0)) {
+                    out.markGoal(last, 0);
+                    break;
+                }
+            }
+        } finally {
+            for (RunReader reader : heads) {
+                reader.close();
+            }
+            if (previousReader != null) previousReader.close();
+            if (currentReader != null) currentReader.close();
+        }
+        return out;
+    }
+
+    // Majukan reader terurut sampai state; true jika state ada di dalamnya
+    private boolean contains(RunReader reader, long[] state) {
+        if (reader == null) return false;
+        while (reader.hasNext() && compare(reader.peek(), 0, state, 0, width) < 0) {
+            reader.advance();
+        }
+        return reader.hasNext() && compare(reader.peek(), 0, state, 0, width) == 0;
+    }
+
+    // Langkah bisa dibalik, jadi parent state di lapisan d+1 adalah tetangganya yang ada di lapisan d.
+    // Hanya state di path yang diubah ke state long (di-intern untuk papan lebar).
+    private long[] rebuildPath(List<Run> layers, long[] goal, MoveGenerator moveGenerator) throws IOException {
+        int length = layers.size();
+        long[] records = new long[length * width];
+        long[] successors = new long[maxSuccessors * width];
+        System.arraycopy(goal, 0, records, (length - 1) * width, width);
+        for (int depth = length - 2; depth >= 0; depth--) {
+            Run layer = layers.get(depth);
+            int moves = moveGenerator.generateWords(records, (depth + 1) * width, successors, 0);
+            for (int m = 0; m < moves; m++) {
+                if (layer.contains(successors, m * width)) {
+                    System.arraycopy(successors, m * width, records, depth * width, width);
+                    break;
+                }
+            }
+        }
+        long[] path = new long[length];
+        int[] positions = new int[encoder.pieceCount];
+        for (int i = 0; i < length; i++) {
+            encoder.unpack(records, i * width, positions);
+            path[i] = encoder.encode(positions);
+        }
+        return path;
+    }
+
+    // Langkah ringkas: geseran berurutan dari bidak dan arah yang sama dihitung satu
+    private int countSummarizedSteps(long[] path) {
+        int steps = 0;
+        int lastPiece = -1;
+        int lastSign = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (int piece = 0; piece < encoder.pieceCount; piece++) {
+                int delta = encoder.position(path[i], piece) - encoder.position(path[i - 1], piece);
+                if (delta == 0) continue;
+                int sign = Integer.signum(delta);
+                if (piece != lastPiece || sign != lastSign) steps++;
+                lastPiece = piece;
+                lastSign = sign;
+                break;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // File berisi record state terurut (width long per state); count dicatat di sini karena file
+    // tidak dipotong ke ukuran sebenarnya (memotong file yang masih di-map gagal di Windows)
+    private static class Run {
+        final File file;
+        final int width;
+        long count;
+        long bytes;          // ukuran file di disk (jumlah window yang di-map)
+        boolean hasGoal;
+        long[] goal;
+
+        Run(File file, int width) {
+            this.file = file;
+            this.width = width;
+        }
+
+        void markGoal(long[] words, int offset) {
+            hasGoal = true;
+            goal = Arrays.copyOfRange(words, offset, offset + width);
+        }
+
+        boolean contains(long[] words, int offset) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer value = ByteBuffer.allocate(width * Long.BYTES);
+                long[] found = new long[width];
+                long low = 0;
+                long high = count - 1;
+                while (low <= high) {
+                    long mid = (low + high) >>> 1;
+                    value.clear();
+                    channel.read(value, mid * width * Long.BYTES);
+                    value.flip();
+                    value.asLongBuffer().get(found);
+                    int c = compare(found, 0, words, offset, width);
+                    if (c < 0) low = mid + 1;
+                    else if (c > 0) high = mid - 1;
+                    else return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    // Menulis record berurutan lewat window memory-mapped yang membesar dua kali lipat; setiap
+    // window berisi record utuh, jadi tidak ada record yang terpotong di batas window
+    private static class RunWriter implements Closeable {
+        private final Scratch scratch;
+        private final Run run;
+        private final FileChannel channel;
+        private LongBuffer window;
+        private long windowBytes = MIN_WINDOW_BYTES;
+
+        RunWriter(Scratch scratch, Run run) throws IOException {
+            this.scratch = scratch;
+            this.run = run;
+            this.channel = FileChannel.open(run.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+
+        void add(long[] words, int offset) throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                long recordBytes = (long) run.width * Long.BYTES;
+                long bytes = Math.max(1, windowBytes / recordBytes) * recordBytes;
+                scratch.reserve(bytes);
+                window = channel.map(FileChannel.MapMode.READ_WRITE, run.bytes, bytes).asLongBuffer();
+                run.bytes += bytes;
+                windowBytes = Math.min(MAX_WINDOW_BYTES, windowBytes * 2);
+            }
+            window.put(words, offset, run.width);
+            run.count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Membaca run berurutan lewat window memory-mapped read-only; peek() adalah record saat ini
+    // (hanya sah selama hasNext) dan ditimpa oleh advance()
+    private static class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final long count;
+        private final int width;
+        private final long[] current;
+        private long index;
+        private LongBuffer window;
+
+        RunReader(Run run) throws IOException {
+            this.channel = FileChannel.open(run.file.toPath(), StandardOpenOption.READ);
+            this.count = run.count;
+            this.width = run.width;
+            this.current = new long[width];
+            load();
+        }
+
+        boolean hasNext() {
+            return index < count;
+        }
+
+        long[] peek() {
+            return current;
+        }
+
+        void advance() {
+            index++;
+            load();
+        }
+
+        private void load() {
+            if (index >= count) return;
+            if (window == null || !window.hasRemaining()) {
+                long recordBytes = (long) width * Long.BYTES;
+                long records = Math.min(Math.max(1, MAX_WINDOW_BYTES / recordBytes), count - index);
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, index * recordBytes, records * recordBytes).asLongBuffer();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            window.get(current);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Folder sementara satu pencarian di dalam folder scratch; dihapus seluruhnya saat ditutup
+    private class Scratch implements Closeable {
+        private final File directory;
+        private final long limit;
+        private long used;
+        private long peak;
+        private int nextRun;
+
+        Scratch(File parent, long limit) throws IOException {
+            parent.mkdirs();
+            this.directory = Files.createTempDirectory(parent.toPath(), "ebfs-").toFile();
+            this.limit = limit;
+        }
+
+        Run newRun() {
+            return new Run(new File(directory, "run-" + (nextRun++) + ".bin"), width);
+        }
+
+        void reserve(long bytes) {
+            if (limit > 0 && used + bytes > limit) {
+                throw new BudgetExceededException(BudgetExceededException.Reason.MEMORY, nodesExpanded,
+                        "Scratch melebihi batas " + String.format("%.1f", limit / (1024.0 * 1024.0)) + " MB setelah "
+                                + nodesExpanded + " node");
+            }
+            used += bytes;
+            peak = Math.max(peak, used);
+        }
+
+        // Di Windows file yang masih di-map belum bisa dihapus; dicoba lagi saat JVM keluar
+        void delete(Run run) {
+            used -= run.bytes;
+            if (!run.file.delete()) run.file.deleteOnExit();
+        }
+
+        @Override
+        public void close() {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (!file.delete()) file.deleteOnExit();
+                }
+            }
+            if (!directory.delete()) directory.deleteOnExit();
+        }
+    }
+}
@@ -5,10 +5,15 @@ import java.io.PrintWriter;
 import java.util.*;
 
 public class GBFS implements Solver {
-    private final char[] priorityDirs = {'U', 'D', 'L', 'R'};
+    private StateEncoder encoder;
+    private Symmetry symmetry;
+    private MoveGenerator moveGenerator;
     private int heuristicType;
     public int nodesExpanded = 0;
     public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
 
     private static class SummarizedStep {
         char piece;
@@ -58,12 +63,22 @@ public class GBFS implements Solver {
     public void solve(Board start) {
         nodesExpanded = 0;
         lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
 
         PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Set<String> closedSet = new HashSet<>();
+        LongHashSet closedSet = new LongHashSet();
+        budget.meterMemory(() -> closedSet.memoryBytes() + (openSet.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
 
-        int h = Heuristic.calculate(start, heuristicType);
-        Node startNode = new Node(start, null, '\0', '\0', h);
+        long startKey = encoder.encode(start);
+        symmetry = Symmetry.of(encoder, startKey);
+        if (symmetry.isSymmetric()) {
+            System.out.println("Papan simetris (" + symmetry.getName() + "), state dan cerminnya digabung");
+        }
+        int h = Heuristic.calculate(encoder, startKey, heuristicType);
+        Node startNode = new Node(startKey, null, '\0', '\0', 0, h);
         openSet.add(startNode);
 
         System.out.println(getAlgorithmName() + " dengan heuristik " +
@@ -72,37 +87,48 @@ public class GBFS implements Solver {
         Node solutionNode = null;
 
         while (!openSet.isEmpty()) {
+            long t = recorder.time();
             Node current = openSet.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
             nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, openSet.size(), closedSet.size(), current.h, -1);
 
-            if (isGoalState(current.board)) {
+            if (encoder.isGoal(current.key)) {
                 solutionNode = current;
                 break;
             }
 
-            String boardKey = getBoardKey(current.board);
+            long boardKey = symmetry.canonical(current.key);
 
             if (closedSet.contains(boardKey)) {
+                recorder.lap(SearchMetrics.HASHING, t);
                 continue;
             }
             closedSet.add(boardKey);
-
-            for (Piece piece : current.board.pieces) {
-                for (char dir : priorityDirs) {
-                    if (canMove(current.board, piece.name, dir)) {
-                        Board newBoard = move(current.board, piece.name, dir);
-                        String newBoardKey = getBoardKey(newBoard);
-
-                        if (!closedSet.contains(newBoardKey)) {
-                            int newH = Heuristic.calculate(newBoard, heuristicType);
-                            Node neighbor = new Node(newBoard, current, piece.name, dir, newH);
-                            openSet.add(neighbor);
-                        }
-                    }
+            t = recorder.lap(SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+
+                if (!closedSet.contains(symmetry.canonical(move.key))) {
+                    t = recorder.lap(SearchMetrics.HASHING, t);
+                    int newH = Heuristic.calculate(encoder, current.key, current.h, move, heuristicType, CostModel.CELLS_MOVED);
+                    t = recorder.lap(SearchMetrics.HEURISTIC, t);
+                    Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newH);
+                    openSet.add(neighbor);
+                    t = recorder.lap(SearchMetrics.QUEUE, t);
                 }
             }
+            recorder.lap(SearchMetrics.HASHING, t);
         }
 
+        recorder.finish(nodesExpanded, openSet.size(), closedSet.size(), solutionNode == null ? -1 : solutionNode.h);
+
+        bytesPerState = closedSet.memoryBytes() / (double) Math.max(1, closedSet.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
         if (solutionNode != null) {
             List<SummarizedStep> summarizedPath = getSummarizedPath(solutionNode);
             this.lastSummarizedStepCount = summarizedPath.size();
@@ -124,12 +150,22 @@ public class GBFS implements Solver {
     public List<Board> solveAndReturnPath(Board start) {
         nodesExpanded = 0;
         lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
 
         PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Set<String> closedSet = new HashSet<>();
+        LongHashSet closedSet = new LongHashSet();
+        budget.meterMemory(() -> closedSet.memoryBytes() + (openSet.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
 
-        int hVal = Heuristic.calculate(start, heuristicType);
-        Node startNode = new Node(start, null, '\0', '\0', hVal);
+        long startKey = encoder.encode(start);
+        symmetry = Symmetry.of(encoder, startKey);
+        if (symmetry.isSymmetric()) {
+            System.out.println("Papan simetris (" + symmetry.getName() + "), state dan cerminnya digabung");
+        }
+        int hVal = Heuristic.calculate(encoder, startKey, heuristicType);
+        Node startNode = new Node(startKey, null, '\0', '\0', 0, hVal);
         openSet.add(startNode);
 
         System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + " (mencari path list)");
@@ -137,37 +173,48 @@ public class GBFS implements Solver {
         Node solutionNode = null;
 
         while (!openSet.isEmpty()) {
+            long t = recorder.time();
             Node current = openSet.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
             nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, openSet.size(), closedSet.size(), current.h, -1);
 
-            if (isGoalState(current.board)) {
+            if (encoder.isGoal(current.key)) {
                 solutionNode = current;
                 break;
             }
 
-            String boardKey = getBoardKey(current.board);
+            long boardKey = symmetry.canonical(current.key);
 
             if (closedSet.contains(boardKey)) {
+                recorder.lap(SearchMetrics.HASHING, t);
                 continue;
             }
             closedSet.add(boardKey);
-
-            for (Piece piece : current.board.pieces) {
-                for (char dir : priorityDirs) {
-                    if (canMove(current.board, piece.name, dir)) {
-                        Board newBoard = move(current.board, piece.name, dir);
-                        String newBoardKey = getBoardKey(newBoard);
-
-                        if (!closedSet.contains(newBoardKey)) {
-                            int newH = Heuristic.calculate(newBoard, heuristicType);
-                            Node neighbor = new Node(newBoard, current, piece.name, dir, newH);
-                            openSet.add(neighbor);
-                        }
-                    }
+            t = recorder.lap(SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+
+                if (!closedSet.contains(symmetry.canonical(move.key))) {
+                    t = recorder.lap(SearchMetrics.HASHING, t);
+                    int newH = Heuristic.calculate(encoder, current.key, current.h, move, heuristicType, CostModel.CELLS_MOVED);
+                    t = recorder.lap(SearchMetrics.HEURISTIC, t);
+                    Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newH);
+                    openSet.add(neighbor);
+                    t = recorder.lap(SearchMetrics.QUEUE, t);
                 }
             }
+            recorder.lap(SearchMetrics.HASHING, t);
         }
 
+        recorder.finish(nodesExpanded, openSet.size(), closedSet.size(), solutionNode == null ? -1 : solutionNode.h);
+
+        bytesPerState = closedSet.memoryBytes() / (double) Math.max(1, closedSet.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
         if (solutionNode == null) {
             System.out.println("Tidak ditemukan solusi!");
              ensureTestDirectoryExists();
@@ -184,7 +231,7 @@ public class GBFS implements Solver {
         List<Board> boardPath = new ArrayList<>();
         Node tempNode = solutionNode;
         while (tempNode != null) {
-            boardPath.add(tempNode.board);
+            boardPath.add(encoder.decode(tempNode.key));
             tempNode = tempNode.parent;
         }
         Collections.reverse(boardPath);
@@ -206,6 +253,21 @@ public class GBFS implements Solver {
         return nodesExpanded;
     }
 
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     private List<SummarizedStep> getSummarizedPath(Node solutionNode) {
         List<SummarizedStep> summarizedSteps = new ArrayList<>();
         if (solutionNode == null) return summarizedSteps;
@@ -223,20 +285,20 @@ public class GBFS implements Solver {
         char currentPiece = rawPathNodes.get(0).piece;
         char currentDirection = rawPathNodes.get(0).direction;
         int moveCount = 0;
-        Board lastBoardInSequence = rawPathNodes.get(0).board;
+        Board lastBoardInSequence = encoder.decode(rawPathNodes.get(0).key);
         int hVal = rawPathNodes.get(0).h;
 
         for (Node node : rawPathNodes) {
             if (node.piece == currentPiece && node.direction == currentDirection) {
-                moveCount++;
-                lastBoardInSequence = node.board;
+                moveCount += node.distance;
+                lastBoardInSequence = encoder.decode(node.key);
                 hVal = node.h;
             } else {
                 summarizedSteps.add(new SummarizedStep(currentPiece, currentDirection, moveCount, lastBoardInSequence, hVal));
                 currentPiece = node.piece;
                 currentDirection = node.direction;
-                moveCount = 1;
-                lastBoardInSequence = node.board;
+                moveCount = node.distance;
+                lastBoardInSequence = encoder.decode(node.key);
                 hVal = node.h;
             }
         }
@@ -284,45 +346,8 @@ public class GBFS implements Solver {
     //     }
     // }
     
-    private boolean isGoalState(Board board) {
-        if (board.primaryPiece == null || (board.exitRow == -1 && board.exitCol == -1)) return false;
-    
-        for (int[] cell : board.primaryPiece.cells) {
-            int r = cell[0], c = cell[1];
-    
-            // Exit di atas grid
-            if (board.exitRow == -1 && board.exitCol == c && r == 0) return true;
-    
-            // Exit di bawah grid
-            if (board.exitRow == board.rows && board.exitCol == c && r == board.rows - 1) return true;
-    
-            // Exit di kiri grid
-            if (board.exitCol == -1 && board.exitRow == r && c == 0) return true;
-    
-            // Exit di kanan grid
-            if (board.exitCol == board.cols && board.exitRow == r && c == board.cols - 1) return true;
-    
-            // Exit di dalam grid (samping P)
-            if ((r == board.exitRow && Math.abs(c - board.exitCol) == 1) ||
-                (c == board.exitCol && Math.abs(r - board.exitRow) == 1)) {
-                return true;
-            }
-        }
-    
-        return false;
-    }
     
 
-    private String getBoardKey(Board board) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < board.rows; i++) {
-            for (int j = 0; j < board.cols; j++) {
-                sb.append(board.grid[i][j]);
-            }
-        }
-        return sb.toString();
-    }
-
     private String getDirName(char d) {
         return switch (d) {
             case 'L' -> "kiri";
@@ -333,117 +358,20 @@ public class GBFS implements Solver {
         };
     }
 
-    private boolean canMove(Board board, char pieceName, char dir) {
-        Piece pieceToMove = null;
-        for (Piece p : board.pieces) {
-            if (p.name == pieceName) {
-                pieceToMove = p;
-                break;
-            }
-        }
-
-        if (pieceToMove == null || pieceToMove.cells.isEmpty()) {
-            return false;
-        }
-
-        PieceOrientation orientation = pieceToMove.getOrientation();
-
-        if (orientation == PieceOrientation.HORIZONTAL) {
-            if (dir == 'U' || dir == 'D') {
-                return false;
-            }
-        } else if (orientation == PieceOrientation.VERTICAL) {
-            if (dir == 'L' || dir == 'R') {
-                return false;
-            }
-        }
-
-        for (int[] cell : pieceToMove.cells) {
-            int currentRow = cell[0];
-            int currentCol = cell[1];
-            int newRow = currentRow;
-            int newCol = currentCol;
-
-            switch (dir) {
-                case 'L' -> newCol--;
-                case 'R' -> newCol++;
-                case 'U' -> newRow--;
-                case 'D' -> newRow++;
-            }
-
-            if (newRow < 0 || newRow >= board.rows || newCol < 0 || newCol >= board.cols) {
-                return false;
-            }
-
-            char destinationCellContent = board.grid[newRow][newCol];
-            boolean partOfItself = false;
-            for(int[] ownCell : pieceToMove.cells){
-                if(ownCell[0] == newRow && ownCell[1] == newCol){
-                    partOfItself = true;
-                    break;
-                }
-            }
-
-            if (destinationCellContent != '.' && destinationCellContent != 'K' && !partOfItself) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private Board move(Board board, char pieceName, char dir) {
-        Board newBoard = board.clone();
-        Piece targetPieceInNewBoard = null;
-        for(Piece p : newBoard.pieces){
-            if(p.name == pieceName){
-                targetPieceInNewBoard = p;
-                break;
-            }
-        }
-
-        if (targetPieceInNewBoard == null) return newBoard; // Should not happen if canMove is true
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            newBoard.grid[cell[0]][cell[1]] = '.';
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            switch (dir) {
-                case 'L' -> cell[1]--;
-                case 'R' -> cell[1]++;
-                case 'U' -> cell[0]--;
-                case 'D' -> cell[0]++;
-            }
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-             if (cell[0] >= 0 && cell[0] < newBoard.rows && cell[1] >=0 && cell[1] < newBoard.cols) {
-                newBoard.grid[cell[0]][cell[1]] = pieceName;
-            } else {
-                System.err.println("Error critical (GBFS): Piece " + pieceName + " moved out of bounds. Row: " + cell[0] + ", Col: " + cell[1]);
-                return board; 
-            }
-        }
-        
-        char KODE_BIDAK_UTAMA = 'P';
-        if (pieceName == KODE_BIDAK_UTAMA) {
-            newBoard.primaryPiece = targetPieceInNewBoard;
-        }
-        return newBoard;
-    }
-
     private static class Node implements Comparable<Node> {
-        Board board;
+        long key;
         Node parent;
         char piece;
         char direction;
+        int distance;
         int h;
 
-        public Node(Board board, Node parent, char piece, char direction, int h) {
-            this.board = board;
+        public Node(long key, Node parent, char piece, char direction, int distance, int h) {
+            this.key = key;
             this.parent = parent;
             this.piece = piece;
             this.direction = direction;
+            this.distance = distance;
             this.h = h;
         }
 
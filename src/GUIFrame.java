@@ -8,6 +8,7 @@ import javax.swing.*;
 public class GUIFrame extends JFrame {
     private JComboBox<String> algoCombo;
     private JComboBox<String> heuristicCombo;
+    private JComboBox<String> costCombo;
     private JLabel statusLabel;
     private BoardGUI boardPanel;
     private File selectedFile;
@@ -16,6 +17,7 @@ public class GUIFrame extends JFrame {
     private AnimationManager animationManager;
     private JSlider speedSlider;
     private Solver solver;
+    private CancellationToken searchToken; // membatalkan pencarian yang sedang berjalan
 
     public GUIFrame() {
         super("Rush Hour Solver");
@@ -29,7 +31,8 @@ public class GUIFrame extends JFrame {
 
         // Atur status awal heuristicCombo berdasarkan pilihan algo
         int initialIdx = algoCombo.getSelectedIndex();
-        heuristicCombo.setEnabled(initialIdx != 1); // UCS tidak pakai heuristik
+        heuristicCombo.setEnabled(SolverFactory.usesHeuristic(SolverFactory.ALGORITHMS[initialIdx])); // UCS tidak pakai heuristik
+        costCombo.setEnabled(SolverFactory.usesCostModel(SolverFactory.ALGORITHMS[initialIdx]));
 
         setVisible(true);
     }
@@ -38,8 +41,9 @@ public class GUIFrame extends JFrame {
         JPanel topPanel = new JPanel(new FlowLayout());
 
         JButton fileButton = new JButton("Pilih File");
-        algoCombo = new JComboBox<>(new String[]{"Greedy Best First Search", "Uniform Cost Search", "A*", "IDA*"});
-        heuristicCombo = new JComboBox<>(new String[]{"Manhattan", "Euclidean", "Obstacle-aware"}); // Asumsi nama heuristik
+        algoCombo = new JComboBox<>(new String[]{"Greedy Best First Search", "Uniform Cost Search", "A*", "IDA*", "Bidirectional Search", "HDA* (paralel)", "IDA* (paralel)", "BFS (paralel)", "Tabel Jarak", "SMA* (memori terbatas)", "BFS eksternal (disk)", "ARA* (anytime)"});
+        heuristicCombo = new JComboBox<>(new String[]{"Manhattan", "Euclidean", "Obstacle-aware", "Blocking", "Blocking (2 level)", "Pattern Database"}); // Asumsi nama heuristik
+        costCombo = new JComboBox<>(new String[]{CostModel.CELLS_MOVED.getName(), CostModel.PIECE_MOVES.getName()});
         JButton runButton = new JButton("Jalankan");
 
         // Heuristik dinonaktifkan jika algoritma tidak membutuhkannya (misal UCS)
@@ -47,8 +51,9 @@ public class GUIFrame extends JFrame {
 
         algoCombo.addActionListener(e -> {
             int idx = algoCombo.getSelectedIndex();
-            // 0: GBFS (needs H), 1: UCS (no H), 2: A* (needs H), 3: IDA* (needs H)
-            heuristicCombo.setEnabled(idx != 1); // Nonaktifkan heuristik untuk UCS
+            // UCS, Bidirectional, BFS, dan Tabel Jarak tidak pakai heuristik, GBFS tidak memperhitungkan biaya
+            heuristicCombo.setEnabled(SolverFactory.usesHeuristic(SolverFactory.ALGORITHMS[idx]));
+            costCombo.setEnabled(SolverFactory.usesCostModel(SolverFactory.ALGORITHMS[idx]));
         });
 
         fileButton.addActionListener(e -> {
@@ -77,6 +82,9 @@ public class GUIFrame extends JFrame {
 
         runButton.addActionListener(e -> {
             if (isRunning) { // Jika sedang berjalan, tombol berfungsi sebagai "Hentikan"
+                if (searchToken != null) {
+                    searchToken.cancel(); // Hentikan pencarian jika belum selesai
+                }
                 if (animationManager != null) {
                     animationManager.stop(); // Hentikan animasi
                 }
@@ -98,14 +106,12 @@ public class GUIFrame extends JFrame {
 
             int algoIdx = algoCombo.getSelectedIndex();
             int heurIdx = heuristicCombo.getSelectedIndex(); // Indeks untuk Heuristic.java (0: Manhattan, dst)
+            CostModel costModel = CostModel.values()[costCombo.getSelectedIndex()];
 
-            solver = switch (algoIdx) {
-                case 0 -> new GBFS(heurIdx);
-                case 1 -> new UCS(); // UCS tidak pakai heuristik, jadi heurIdx diabaikan
-                case 2 -> new AStar(heurIdx);
-                case 3 -> new IDAStar(heurIdx);
-                default -> null;
-            };
+            // Urutan algoCombo sama dengan SolverFactory.ALGORITHMS; UCS mengabaikan heurIdx
+            solver = algoIdx >= 0 && algoIdx < SolverFactory.ALGORITHMS.length
+                    ? SolverFactory.create(SolverFactory.ALGORITHMS[algoIdx], heurIdx, costModel)
+                    : null;
 
             if (solver == null) {
                 JOptionPane.showMessageDialog(this, "Pilihan solver tidak valid.", "Error Solver", JOptionPane.ERROR_MESSAGE);
@@ -116,6 +122,15 @@ public class GUIFrame extends JFrame {
             }
 
             Board boardToSolve = currentBoard.clone(); // Selalu clone board asli untuk solver
+            CancellationToken token = new CancellationToken();
+            searchToken = token;
+            solver.setLimits(new SearchLimits(0, 0, 0, token));
+            // ARA*: tampilkan setiap solusi sementara selama pencarian masih memperbaikinya
+            solver.setSolutionListener((path, cost, bound, nodes) -> SwingUtilities.invokeLater(() -> {
+                if (searchToken == token && isRunning) {
+                    statusLabel.setText("Solusi sementara: biaya " + cost + " (maks " + String.format("%.2f", bound) + "x optimal) | Node: " + nodes);
+                }
+            }));
 
             // Jalankan solver di thread terpisah agar GUI tidak freeze
             new SwingWorker<List<Board>, Void>() {
@@ -131,6 +146,19 @@ public class GUIFrame extends JFrame {
 
                 @Override
                 protected void done() {
+                    if (token.isCancelled()) {
+                        // Dihentikan lewat tombol "Hentikan": tampilkan statistik parsial, tanpa animasi
+                        if (searchToken == token) {
+                            String message = "Pencarian dihentikan";
+                            try {
+                                get();
+                            } catch (Exception ex) {
+                                if (ex.getCause() instanceof BudgetExceededException) message = ex.getCause().getMessage();
+                            }
+                            statusLabel.setText(message + ". Board dikembalikan ke kondisi awal.");
+                        }
+                        return;
+                    }
                     try {
                         List<Board> path = get(); // Dapatkan hasil dari doInBackground
                         long endTime = System.currentTimeMillis();
@@ -170,6 +198,8 @@ public class GUIFrame extends JFrame {
         topPanel.add(algoCombo);
         topPanel.add(new JLabel("Heuristik:"));
         topPanel.add(heuristicCombo);
+        topPanel.add(new JLabel("Biaya:"));
+        topPanel.add(costCombo);
         topPanel.add(runButton);
 
         add(topPanel, BorderLayout.NORTH);
@@ -230,6 +260,9 @@ public class GUIFrame extends JFrame {
                     if (heuristicCombo.isEnabled()) {
                         writer.println("Heuristik: " + heuristicCombo.getSelectedItem().toString());
                     }
+                    if (costCombo.isEnabled()) {
+                        writer.println("Model biaya: " + costCombo.getSelectedItem().toString());
+                    }
 
                     if (animationManager == null || animationManager.getSteps() == null || animationManager.getSteps().isEmpty()) {
                         writer.println("Tidak ditemukan solusi atau tidak ada langkah untuk disimpan.");
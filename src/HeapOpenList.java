@@ -0,0 +1,26 @@
+import java.util.PriorityQueue;
+
+// OpenList di atas PriorityQueue, urutan mengikuti compareTo milik node
+public class HeapOpenList<T extends Comparable<T>> implements OpenList<T> {
+    private final PriorityQueue<T> queue = new PriorityQueue<>();
+
+    @Override
+    public void add(T item) {
+        queue.add(item);
+    }
+
+    @Override
+    public T poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
@@ -3,89 +3,139 @@ public class Heuristic {
     public static final int MANHATTAN = 0;
     public static final int EUCLIDEAN = 1;
     public static final int OBSTACLE_AWARE = 2;
-    
+    public static final int BLOCKING = 3;        // admissible: jarak + bidak penghalang
+    public static final int BLOCKING_DEEP = 4;   // BLOCKING + 1 jika ada penghalang yang ikut terhalang
+    public static final int PATTERN_DB = 5;      // jarak tepat pada abstraksi bidak utama + penghalang
+
     public static int calculate(Board board, int type) {
+        StateEncoder encoder = new StateEncoder(board);
+        return calculate(encoder, encoder.encode(board), type);
+    }
+
+    // Versi untuk state terenkode, dipakai solver agar tidak perlu membangun Board per node
+    public static int calculate(StateEncoder encoder, long state, int type) {
         switch (type) {
             case MANHATTAN:
-                return calculateManhattan(board);
+                return calculateManhattan(encoder, state);
             case EUCLIDEAN:
-                return calculateEuclidean(board);
+                return calculateEuclidean(encoder, state);
             case OBSTACLE_AWARE:
-                return calculateObstacleAware(board);
+                return calculateObstacleAware(encoder, state);
+            case BLOCKING:
+            case BLOCKING_DEEP:
+                return calculateBlocking(encoder, state, type == BLOCKING_DEEP, CostModel.CELLS_MOVED);
+            case PATTERN_DB:
+                return PatternDatabase.get(encoder, CostModel.CELLS_MOVED).lookup(state);
             default:
-                return calculateManhattan(board);
+                return calculateManhattan(encoder, state);
+        }
+    }
+
+    // Nilai heuristik untuk model biaya tertentu. Pada PIECE_MOVES satu geseran bisa menempuh
+    // jarak berapa pun, jadi jarak geometris hanya menjamin minimal satu gerakan lagi.
+    // Heuristik blocking dan pattern database dihitung langsung per model biaya sehingga tetap
+    // admissible tanpa dipotong.
+    public static int calculate(StateEncoder encoder, long state, int type, CostModel costModel) {
+        if (type == BLOCKING || type == BLOCKING_DEEP) {
+            return calculateBlocking(encoder, state, type == BLOCKING_DEEP, costModel);
+        }
+        if (type == PATTERN_DB) {
+            return PatternDatabase.get(encoder, costModel).lookup(state);
         }
+        int value = calculate(encoder, state, type);
+        return costModel == CostModel.PIECE_MOVES ? Math.min(value, 1) : value;
+    }
+
+    // Nilai untuk successor hasil move dari parent. Untuk heuristik blocking, nilai parent dipakai
+    // ulang jika bidak yang bergerak tidak menyentuh jalur keluar maupun kolom/baris penghalang.
+    public static int calculate(StateEncoder encoder, long parent, int parentValue, Move move, int type, CostModel costModel) {
+        if ((type == BLOCKING || type == BLOCKING_DEEP) && !affectsBlocking(encoder, parent, move, type == BLOCKING_DEEP)) {
+            return parentValue;
+        }
+        return calculate(encoder, move.key, type, costModel);
     }
-    
 
     public static String getName(int type) {
         return switch (type) {
             case MANHATTAN -> "Manhattan Distance";
             case EUCLIDEAN -> "Euclidean Distance";
             case OBSTACLE_AWARE -> "Obstacle-aware Distance";
+            case BLOCKING -> "Blocking Cars";
+            case BLOCKING_DEEP -> "Blocking Cars (2 level)";
+            case PATTERN_DB -> "Pattern Database";
             default -> "Unknown";
         };
     }
-    
 
-    private static int calculateManhattan(Board board) {
+    // Sel ke-k bidak utama pada state ini: {row, col}
+    private static int[] primaryCell(StateEncoder encoder, int pos, int k) {
+        int p = encoder.primaryIndex;
+        return encoder.horizontal[p]
+                ? new int[]{encoder.lane[p], pos + k}
+                : new int[]{pos + k, encoder.lane[p]};
+    }
+
+    private static int calculateManhattan(StateEncoder encoder, long state) {
         int minDistance = Integer.MAX_VALUE;
-        
-        for (int[] cell : board.primaryPiece.cells) {
-            int distance = Math.abs(cell[0] - board.exitRow) + Math.abs(cell[1] - board.exitCol);
+        int pos = encoder.position(state, encoder.primaryIndex);
+
+        for (int k = 0; k < encoder.length[encoder.primaryIndex]; k++) {
+            int[] cell = primaryCell(encoder, pos, k);
+            int distance = Math.abs(cell[0] - encoder.exitRow) + Math.abs(cell[1] - encoder.exitCol);
             minDistance = Math.min(minDistance, distance);
         }
-        
+
         return minDistance;
     }
-    
 
-    private static int calculateEuclidean(Board board) {
+
+    private static int calculateEuclidean(StateEncoder encoder, long state) {
         double minDistance = Double.MAX_VALUE;
-        
-        for (int[] cell : board.primaryPiece.cells) {
-            double dx = cell[0] - board.exitRow;
-            double dy = cell[1] - board.exitCol;
+        int pos = encoder.position(state, encoder.primaryIndex);
+
+        for (int k = 0; k < encoder.length[encoder.primaryIndex]; k++) {
+            int[] cell = primaryCell(encoder, pos, k);
+            double dx = cell[0] - encoder.exitRow;
+            double dy = cell[1] - encoder.exitCol;
             double distance = Math.sqrt(dx * dx + dy * dy);
             minDistance = Math.min(minDistance, distance);
         }
-        
-        
+
+
         return (int) Math.ceil(minDistance);
     }
-    
 
-    private static int calculateObstacleAware(Board board) {
-        int baseDistance = calculateManhattan(board);
+
+    private static int calculateObstacleAware(StateEncoder encoder, long state) {
+        int baseDistance = calculateManhattan(encoder, state);
         int obstacles = 0;
-    
+        int[] positions = encoder.positions(state);
+
         int[] closestCell = null;
         int minDistance = Integer.MAX_VALUE;
-    
-        for (int[] cell : board.primaryPiece.cells) {
-            int distance = Math.abs(cell[0] - board.exitRow) + Math.abs(cell[1] - board.exitCol);
+
+        for (int k = 0; k < encoder.length[encoder.primaryIndex]; k++) {
+            int[] cell = primaryCell(encoder, positions[encoder.primaryIndex], k);
+            int distance = Math.abs(cell[0] - encoder.exitRow) + Math.abs(cell[1] - encoder.exitCol);
             if (distance < minDistance) {
                 minDistance = distance;
                 closestCell = cell;
             }
         }
-    
+
         if (closestCell == null) return baseDistance;
-    
+
         int row = closestCell[0];
         int col = closestCell[1];
-        int exRow = board.exitRow;
-        int exCol = board.exitCol;
-    
+        int exRow = encoder.exitRow;
+        int exCol = encoder.exitCol;
+
         // Vertical path
         if (col == exCol) {
             int start = Math.min(row, exRow);
             int end = Math.max(row, exRow);
             for (int i = start; i <= end; i++) {
-                if (i >= 0 && i < board.rows && col >= 0 && col < board.cols) {
-                    char ch = board.grid[i][col];
-                    if (ch != '.' && ch != 'P' && ch != 'K') obstacles++;
-                }
+                if (isObstacle(encoder, positions, i, col)) obstacles++;
             }
         }
         // Horizontal path
@@ -93,10 +143,7 @@ public class Heuristic {
             int start = Math.min(col, exCol);
             int end = Math.max(col, exCol);
             for (int j = start; j <= end; j++) {
-                if (row >= 0 && row < board.rows && j >= 0 && j < board.cols) {
-                    char ch = board.grid[row][j];
-                    if (ch != '.' && ch != 'P' && ch != 'K') obstacles++;
-                }
+                if (isObstacle(encoder, positions, row, j)) obstacles++;
             }
         }
         // Diagonal/umum (cek kotak dari primary ke exit)
@@ -107,15 +154,133 @@ public class Heuristic {
             int maxCol = Math.max(col, exCol);
             for (int i = minRow; i <= maxRow; i++) {
                 for (int j = minCol; j <= maxCol; j++) {
-                    if (i >= 0 && i < board.rows && j >= 0 && j < board.cols) {
-                        char ch = board.grid[i][j];
-                        if (ch != '.' && ch != 'P' && ch != 'K') obstacles++;
-                    }
+                    if (isObstacle(encoder, positions, i, j)) obstacles++;
                 }
             }
         }
-    
+
         return baseDistance + obstacles * 2;
     }
-    
-}
\ No newline at end of file
+
+    // Sel di dalam grid yang ditempati bidak selain P
+    private static boolean isObstacle(StateEncoder encoder, int[] positions, int row, int col) {
+        if (row < 0 || row >= encoder.rows || col < 0 || col >= encoder.cols) return false;
+        int occupant = encoder.occupant(positions, row, col);
+        return occupant != -1 && occupant != encoder.primaryIndex;
+    }
+
+    // Sel pada koordinat (along, across) relatif terhadap lane bidak utama
+    private static int occupantAlongLane(StateEncoder encoder, int[] positions, int along, int across) {
+        return encoder.horizontal[encoder.primaryIndex]
+                ? encoder.occupant(positions, across, along)
+                : encoder.occupant(positions, along, across);
+    }
+
+    // Rentang sel lane bidak utama di depannya sampai tepi pintu keluar: {awal, akhir}, kosong jika awal > akhir
+    private static int[] aheadRange(StateEncoder encoder, int primaryPos) {
+        int p = encoder.primaryIndex;
+        boolean exitBefore = encoder.horizontal[p] ? encoder.exitCol == -1 : encoder.exitRow == -1;
+        int size = encoder.horizontal[p] ? encoder.cols : encoder.rows;
+        return exitBefore
+                ? new int[]{0, primaryPos - 1}
+                : new int[]{primaryPos + encoder.length[p], size - 1};
+    }
+
+    // Jarak sel bidak utama ke tepi pintu keluar, ditambah untuk setiap bidak berbeda yang menutup
+    // jalur: 1 (PIECE_MOVES) atau jarak geser minimum agar jalur terbuka (CELLS_MOVED). Setiap bidak
+    // harus bergerak minimal sebanyak itu dan biayanya terpisah, jadi jumlahnya tidak melebihi biaya asli.
+    // Level kedua menambah 1 jika ada penghalang yang arah bebasnya tertutup bidak lain di semua arah;
+    // bidak lain itu bukan penghalang (tidak berada di lane) sehingga ia juga harus bergerak.
+    private static int calculateBlocking(StateEncoder encoder, long state, boolean deep, CostModel costModel) {
+        int p = encoder.primaryIndex;
+        int[] positions = encoder.positions(state);
+        int[] ahead = aheadRange(encoder, positions[p]);
+        int primaryLane = encoder.lane[p];
+        int remaining = ahead[1] - ahead[0] + 1;
+        if (remaining <= 0) return 0;
+
+        int value = costModel == CostModel.PIECE_MOVES ? 1 : remaining;
+        boolean obstructedBlocker = false;
+        int last = -1;
+        for (int along = ahead[0]; along <= ahead[1]; along++) {
+            int blocker = occupantAlongLane(encoder, positions, along, primaryLane);
+            if (blocker == -1 || blocker == last) continue;
+            last = blocker;
+
+            if (encoder.horizontal[blocker] == encoder.horizontal[p]) {
+                value++; // sejajar di lane yang sama, tidak pernah bisa minggir
+                continue;
+            }
+
+            // Penghalang tegak lurus: keluar dari lane ke arah offset kecil atau besar
+            int pos = positions[blocker];
+            int len = encoder.length[blocker];
+            int size = encoder.horizontal[blocker] ? encoder.cols : encoder.rows;
+            int shiftLow = pos + len - primaryLane;
+            int shiftHigh = primaryLane - pos + 1;
+            boolean lowFeasible = pos - shiftLow >= 0;
+            boolean highFeasible = pos + len - 1 + shiftHigh < size;
+
+            int clear;
+            if (lowFeasible && highFeasible) clear = Math.min(shiftLow, shiftHigh);
+            else if (lowFeasible) clear = shiftLow;
+            else if (highFeasible) clear = shiftHigh;
+            else clear = Math.min(shiftLow, shiftHigh);
+            value += costModel == CostModel.PIECE_MOVES ? 1 : clear;
+
+            if (deep && !obstructedBlocker && (lowFeasible || highFeasible)) {
+                boolean lowBlocked = !lowFeasible || pathOccupied(encoder, positions, blocker, pos - shiftLow, pos - 1);
+                boolean highBlocked = !highFeasible || pathOccupied(encoder, positions, blocker, pos + len, pos + len - 1 + shiftHigh);
+                obstructedBlocker = lowBlocked && highBlocked;
+            }
+        }
+        return obstructedBlocker ? value + 1 : value;
+    }
+
+    // Ada sel terisi pada offset [from, to] sepanjang lane bidak piece
+    private static boolean pathOccupied(StateEncoder encoder, int[] positions, int piece, int from, int to) {
+        for (int k = from; k <= to; k++) {
+            int row = encoder.horizontal[piece] ? encoder.lane[piece] : k;
+            int col = encoder.horizontal[piece] ? k : encoder.lane[piece];
+            if (encoder.occupant(positions, row, col) != -1) return true;
+        }
+        return false;
+    }
+
+    // Apakah move bisa mengubah nilai blocking. Bidak utama dan bidak yang menyilang lane di depan
+    // (sebelum atau sesudah bergerak) selalu dihitung ulang. Untuk level kedua, bidak yang melewati
+    // kolom/baris salah satu penghalang juga dihitung ulang karena bisa membuka/menutup jalannya.
+    private static boolean affectsBlocking(StateEncoder encoder, long parent, Move move, boolean deep) {
+        int p = encoder.primaryIndex;
+        int i = move.pieceIndex;
+        if (i == p) return true;
+
+        int primaryPos = encoder.position(parent, p);
+        int[] ahead = aheadRange(encoder, primaryPos);
+        int primaryLane = encoder.lane[p];
+        int oldPos = encoder.position(parent, i);
+        int newPos = encoder.position(move.key, i);
+        int len = encoder.length[i];
+
+        if (encoder.horizontal[i] == encoder.horizontal[p]) {
+            if (encoder.lane[i] == primaryLane) return true;
+            if (!deep) return false;
+            // Sejajar di lane lain: hanya penting jika menyapu kolom/baris penghalang
+            int from = Math.max(Math.min(oldPos, newPos), ahead[0]);
+            int to = Math.min(Math.max(oldPos, newPos) + len - 1, ahead[1]);
+            int[] positions = encoder.positions(parent);
+            for (int along = from; along <= to; along++) {
+                if (occupantAlongLane(encoder, positions, along, primaryLane) != -1) return true;
+            }
+            return false;
+        }
+
+        int along = encoder.lane[i];
+        if (along < ahead[0] || along > ahead[1]) return false;
+        boolean crossedBefore = oldPos <= primaryLane && primaryLane < oldPos + len;
+        boolean crossesAfter = newPos <= primaryLane && primaryLane < newPos + len;
+        if (crossedBefore || crossesAfter) return true;
+        // Tegak lurus di kolom/baris depan tanpa menyilang lane: penting jika kolom itu berisi penghalang
+        return deep && occupantAlongLane(encoder, encoder.positions(parent), along, primaryLane) != -1;
+    }
+}
@@ -5,11 +5,26 @@ import java.io.PrintWriter;
 import java.util.*;
 
 public class IDAStar implements Solver {
-    private final char[] priorityDirs = {'U', 'D', 'L', 'R'};
+    private StateEncoder encoder;
+    private MoveGenerator moveGenerator;
+    private final CostModel costModel;
     private int heuristicType;
     private int nodesExpandedThisIteration;
     private int totalNodesExpanded;
+    private SearchLimits.Budget budget;
+    private SearchMetrics.Recorder recorder;
     private int lastSummarizedStepCount = 0;
+    private int peakPathStates;
+    private double bytesPerState = 0;
+    private boolean complete = true;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    // Bertahan antar iterasi: g terbaik per state dan skor history per (bidak, arah)
+    private TranspositionTable table;
+    private long[] history;
+    private final Comparator<Move> historyOrder =
+            (a, b) -> Long.compare(history[historyIndex(b)], history[historyIndex(a)]);
 
     private static class SummarizedStep {
         char piece;
@@ -35,7 +50,12 @@ public class IDAStar implements Solver {
     }
 
     public IDAStar(int heuristicType) {
+        this(heuristicType, CostModel.CELLS_MOVED);
+    }
+
+    public IDAStar(int heuristicType, CostModel costModel) {
         this.heuristicType = heuristicType;
+        this.costModel = costModel;
     }
     
     private String getAlgorithmName() {
@@ -56,8 +76,21 @@ public class IDAStar implements Solver {
     @Override
     public void solve(Board start) {
         totalNodesExpanded = 0;
+        complete = true;
         lastSummarizedStepCount = 0;
-        int bound = Heuristic.calculate(start, heuristicType);
+        encoder = new StateEncoder(start);
+        budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        // Tanpa closed set, geseran makro berbiaya sel hanya memperbanyak transposisi;
+        // untuk CELLS_MOVED cukup geseran satu sel (biaya optimal sama)
+        moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+        table = new TranspositionTable(TranspositionTable.capacityFor(limits, TranspositionTable.DEFAULT_CAPACITY));
+        history = new long[encoder.pieceCount * 2];
+        peakPathStates = 0;
+        budget.meterMemory(() -> table.memoryBytes() + (long) peakPathStates * SearchLimits.NODE_BYTES);
+        long startKey = encoder.encode(start);
+        int startH = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        int bound = startH;
         Path solutionPathNode = null;
 
         System.out.println(getAlgorithmName() + " dengan heuristik " + getHeuristicName(heuristicType));
@@ -65,8 +98,15 @@ public class IDAStar implements Solver {
         while (true) { 
             System.out.println("Menjelajah dengan batas f-cost: " + bound);
             nodesExpandedThisIteration = 0;
-            SearchResult result = search(new Path(start, null, '\0', '\0', 0, Heuristic.calculate(start, heuristicType)), bound, new HashSet<>());
-            totalNodesExpanded += nodesExpandedThisIteration;
+            ageHistory();
+            LongHashSet pathStates = new LongHashSet(64);
+            SearchResult result;
+            try {
+                result = search(new Path(startKey, null, '\0', '\0', 0, 0, startH), bound, pathStates);
+            } finally {
+                totalNodesExpanded += nodesExpandedThisIteration; // juga saat batas SearchLimits tercapai
+            }
+            bytesPerState = (pathStates.memoryBytes() + table.memoryBytes()) / (double) Math.max(1, peakPathStates + table.size());
 
             if (result.isGoal) {
                 solutionPathNode = result.path;
@@ -84,10 +124,12 @@ public class IDAStar implements Solver {
             }
             if (bound > 1000 && solutionPathNode==null) { // Increased limit for potentially harder puzzles
                 System.out.println("IDA* melebihi batas iterasi/f-cost maksimum ("+ bound +"), menghentikan.");
+                complete = false;
                 break;
             }
         }
 
+        recorder.finish(totalNodesExpanded, -1, table.size(), bound);
         if (solutionPathNode != null) {
             List<SummarizedStep> summarizedPath = getSummarizedPath(solutionPathNode);
             this.lastSummarizedStepCount = summarizedPath.size();
@@ -109,8 +151,21 @@ public class IDAStar implements Solver {
     @Override
     public List<Board> solveAndReturnPath(Board start) {
         totalNodesExpanded = 0;
+        complete = true;
         lastSummarizedStepCount = 0;
-        int bound = Heuristic.calculate(start, heuristicType);
+        encoder = new StateEncoder(start);
+        budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        // Tanpa closed set, geseran makro berbiaya sel hanya memperbanyak transposisi;
+        // untuk CELLS_MOVED cukup geseran satu sel (biaya optimal sama)
+        moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+        table = new TranspositionTable(TranspositionTable.capacityFor(limits, TranspositionTable.DEFAULT_CAPACITY));
+        history = new long[encoder.pieceCount * 2];
+        peakPathStates = 0;
+        budget.meterMemory(() -> table.memoryBytes() + (long) peakPathStates * SearchLimits.NODE_BYTES);
+        long startKey = encoder.encode(start);
+        int startH = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        int bound = startH;
         Path solutionPathNode = null;
 
         System.out.println(getAlgorithmName() + " dengan heuristik " + getHeuristicName(heuristicType) + " (mencari path list)");
@@ -118,8 +173,15 @@ public class IDAStar implements Solver {
         while (true) {
             System.out.println("Menjelajah dengan batas f-cost: " + bound);
             nodesExpandedThisIteration = 0;
-            SearchResult result = search(new Path(start, null, '\0', '\0', 0, Heuristic.calculate(start, heuristicType)), bound, new HashSet<>());
-            totalNodesExpanded += nodesExpandedThisIteration;
+            ageHistory();
+            LongHashSet pathStates = new LongHashSet(64);
+            SearchResult result;
+            try {
+                result = search(new Path(startKey, null, '\0', '\0', 0, 0, startH), bound, pathStates);
+            } finally {
+                totalNodesExpanded += nodesExpandedThisIteration; // juga saat batas SearchLimits tercapai
+            }
+            bytesPerState = (pathStates.memoryBytes() + table.memoryBytes()) / (double) Math.max(1, peakPathStates + table.size());
 
             if (result.isGoal) {
                 solutionPathNode = result.path;
@@ -137,10 +199,12 @@ public class IDAStar implements Solver {
             }
              if (bound > 1000 && solutionPathNode==null) { // Increased limit
                 System.out.println("IDA* melebihi batas iterasi/f-cost maksimum ("+ bound +"), menghentikan.");
+                complete = false;
                 break;
             }
         }
 
+        recorder.finish(totalNodesExpanded, -1, table.size(), bound);
         if (solutionPathNode == null) {
             System.out.println("Tidak ditemukan solusi!");
             System.out.println("Total Node yang dieksplorasi (hingga pencarian terakhir): " + totalNodesExpanded);
@@ -158,7 +222,7 @@ public class IDAStar implements Solver {
         List<Board> boardPath = new ArrayList<>();
         Path tempPath = solutionPathNode;
         while (tempPath != null) {
-            boardPath.add(tempPath.board);
+            boardPath.add(encoder.decode(tempPath.key));
             tempPath = tempPath.parent;
         }
         Collections.reverse(boardPath);
@@ -180,10 +244,32 @@ public class IDAStar implements Solver {
         return totalNodesExpanded;
     }
 
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     
-    private SearchResult search(Path currentPath, int bound, Set<String> pathStates) {
+    private SearchResult search(Path currentPath, int bound, LongHashSet pathStates) {
         nodesExpandedThisIteration++;
-        Board currentBoard = currentPath.board;
+        budget.check(totalNodesExpanded + nodesExpandedThisIteration);
+        recorder.sample(totalNodesExpanded + nodesExpandedThisIteration, -1, table.size(), bound, currentPath.g);
+        long t = recorder.time();
         int gCost = currentPath.g;
         int hCost = currentPath.h; 
         int fCost = gCost + hCost;
@@ -192,41 +278,84 @@ public class IDAStar implements Solver {
             return new SearchResult(false, null, fCost);
         }
 
-        if (isGoalState(currentBoard)) {
+        if (encoder.isGoal(currentPath.key)) {
             return new SearchResult(true, currentPath, fCost);
         }
 
-        String boardKey = getBoardKey(currentBoard);
+        long boardKey = currentPath.key;
         if (pathStates.contains(boardKey)) {
+            recorder.lap(SearchMetrics.HASHING, t);
             return new SearchResult(false, null, Integer.MAX_VALUE); 
         }
+
+        // State yang pernah dicapai dengan g lebih kecil (iterasi ini atau sebelumnya) dijelajah
+        // lewat jalur yang lebih murah itu; subtree dengan g dan batas sama cukup dibaca hasilnya
+        int slot = table.probe(boardKey);
+        if (slot >= 0) {
+            if (table.g(slot) < gCost) {
+                recorder.lap(SearchMetrics.HASHING, t);
+                return new SearchResult(false, null, Integer.MAX_VALUE);
+            }
+            if (table.g(slot) == gCost && table.bound(slot) == bound && table.result(slot) != TranspositionTable.UNKNOWN) {
+                recorder.lap(SearchMetrics.HASHING, t);
+                return new SearchResult(false, null, table.result(slot));
+            }
+        }
+        slot = table.store(boardKey, gCost, bound);
+
         pathStates.add(boardKey);
+        peakPathStates = Math.max(peakPathStates, pathStates.size());
+        t = recorder.lap(SearchMetrics.HASHING, t);
 
         int minNextBound = Integer.MAX_VALUE;
-
-        for (Piece piece : currentBoard.pieces) {
-            for (char dir : priorityDirs) {
-                if (canMove(currentBoard, piece.name, dir)) {
-                    Board newBoard = move(currentBoard, piece.name, dir);
-                    int newGCost = gCost + 1;
-                    int newHCost = Heuristic.calculate(newBoard, heuristicType);
-                    Path newPath = new Path(newBoard, currentPath, piece.name, dir, newGCost, newHCost);
-
-                    SearchResult recursiveResult = search(newPath, bound, pathStates);
-
-                    if (recursiveResult.isGoal) {
-                        pathStates.remove(boardKey); 
-                        return recursiveResult;
-                    }
-                    minNextBound = Math.min(minNextBound, recursiveResult.nextBound);
-                }
+        Move bestMove = null;
+
+        List<Move> moves = moveGenerator.generate(currentPath.key);
+        moves.sort(historyOrder);
+        t = recorder.lap(SearchMetrics.MOVES, t);
+        for (Move move : moves) {
+            int newGCost = gCost + costModel.cost(move.distance);
+            int newHCost = Heuristic.calculate(encoder, currentPath.key, hCost, move, heuristicType, costModel);
+            recorder.lap(SearchMetrics.HEURISTIC, t);
+            Path newPath = new Path(move.key, currentPath, move.piece, move.direction, move.distance, newGCost, newHCost);
+
+            SearchResult recursiveResult = search(newPath, bound, pathStates);
+            t = recorder.time(); // waktu subtree sudah dicatat oleh pemanggilan rekursif
+
+            if (recursiveResult.isGoal) {
+                pathStates.remove(boardKey); 
+                recorder.lap(SearchMetrics.HASHING, t);
+                history[historyIndex(move)] += (long) (bound - gCost + 1) * (bound - gCost + 1);
+                return recursiveResult;
+            }
+            if (recursiveResult.nextBound < minNextBound) {
+                minNextBound = recursiveResult.nextBound;
+                bestMove = move;
             }
         }
 
         pathStates.remove(boardKey); 
+        table.complete(slot, boardKey, gCost, minNextBound);
+        recorder.lap(SearchMetrics.HASHING, t);
+        // Geseran yang subtree-nya paling dekat ke batas berikutnya dicoba lebih dulu nanti
+        if (bestMove != null && minNextBound != Integer.MAX_VALUE) {
+            history[historyIndex(bestMove)] += bound - gCost;
+        }
         return new SearchResult(false, null, minNextBound);
     }
 
+    // Indeks history: per bidak, mundur (L/U) atau maju (R/D)
+    private int historyIndex(Move move) {
+        return move.pieceIndex * 2 + (move.direction == 'R' || move.direction == 'D' ? 1 : 0);
+    }
+
+    // Skor iterasi lama dikurangi setengah agar urutan mengikuti batas f-cost terbaru
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
     private List<SummarizedStep> getSummarizedPath(Path solutionPathNode) {
         List<SummarizedStep> summarizedSteps = new ArrayList<>();
         if (solutionPathNode == null) return summarizedSteps;
@@ -244,22 +373,22 @@ public class IDAStar implements Solver {
         char currentPiece = rawPathNodes.get(0).piece;
         char currentDirection = rawPathNodes.get(0).direction;
         int moveCount = 0;
-        Board lastBoardInSequence = rawPathNodes.get(0).board;
+        Board lastBoardInSequence = encoder.decode(rawPathNodes.get(0).key);
         int gVal = rawPathNodes.get(0).g;
         int hVal = rawPathNodes.get(0).h;
 
         for (Path pathNode : rawPathNodes) {
             if (pathNode.piece == currentPiece && pathNode.direction == currentDirection) {
-                moveCount++;
-                lastBoardInSequence = pathNode.board;
+                moveCount += pathNode.distance;
+                lastBoardInSequence = encoder.decode(pathNode.key);
                 gVal = pathNode.g;
                 hVal = pathNode.h;
             } else {
                 summarizedSteps.add(new SummarizedStep(currentPiece, currentDirection, moveCount, lastBoardInSequence, gVal, hVal));
                 currentPiece = pathNode.piece;
                 currentDirection = pathNode.direction;
-                moveCount = 1;
-                lastBoardInSequence = pathNode.board;
+                moveCount = pathNode.distance;
+                lastBoardInSequence = encoder.decode(pathNode.key);
                 gVal = pathNode.g;
                 hVal = pathNode.h;
             }
@@ -308,43 +437,6 @@ public class IDAStar implements Solver {
     //     }
     // }
     
-    private boolean isGoalState(Board board) {
-        if (board.primaryPiece == null || (board.exitRow == -1 && board.exitCol == -1)) return false;
-    
-        for (int[] cell : board.primaryPiece.cells) {
-            int r = cell[0], c = cell[1];
-    
-            // Exit di atas grid
-            if (board.exitRow == -1 && board.exitCol == c && r == 0) return true;
-    
-            // Exit di bawah grid
-            if (board.exitRow == board.rows && board.exitCol == c && r == board.rows - 1) return true;
-    
-            // Exit di kiri grid
-            if (board.exitCol == -1 && board.exitRow == r && c == 0) return true;
-    
-            // Exit di kanan grid
-            if (board.exitCol == board.cols && board.exitRow == r && c == board.cols - 1) return true;
-    
-            // Exit di dalam grid (samping P)
-            if ((r == board.exitRow && Math.abs(c - board.exitCol) == 1) ||
-                (c == board.exitCol && Math.abs(r - board.exitRow) == 1)) {
-                return true;
-            }
-        }
-    
-        return false;
-    }
-
-    private String getBoardKey(Board board) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < board.rows; i++) {
-            for (int j = 0; j < board.cols; j++) {
-                sb.append(board.grid[i][j]);
-            }
-        }
-        return sb.toString();
-    }
 
     private String getDirName(char d) {
         return switch (d) {
@@ -360,105 +452,6 @@ public class IDAStar implements Solver {
         return Heuristic.getName(type);
     }
 
-    private boolean canMove(Board board, char pieceName, char dir) {
-        Piece pieceToMove = null;
-        for (Piece p : board.pieces) {
-            if (p.name == pieceName) {
-                pieceToMove = p;
-                break;
-            }
-        }
-
-        if (pieceToMove == null || pieceToMove.cells.isEmpty()) {
-            return false;
-        }
-
-        PieceOrientation orientation = pieceToMove.getOrientation();
-
-        if (orientation == PieceOrientation.HORIZONTAL) {
-            if (dir == 'U' || dir == 'D') {
-                return false;
-            }
-        } else if (orientation == PieceOrientation.VERTICAL) {
-            if (dir == 'L' || dir == 'R') {
-                return false;
-            }
-        }
-
-        for (int[] cell : pieceToMove.cells) {
-            int currentRow = cell[0];
-            int currentCol = cell[1];
-            int newRow = currentRow;
-            int newCol = currentCol;
-
-            switch (dir) {
-                case 'L' -> newCol--;
-                case 'R' -> newCol++;
-                case 'U' -> newRow--;
-                case 'D' -> newRow++;
-            }
-
-            if (newRow < 0 || newRow >= board.rows || newCol < 0 || newCol >= board.cols) {
-                return false;
-            }
-
-            char destinationCellContent = board.grid[newRow][newCol];
-            boolean partOfItself = false;
-            for(int[] ownCell : pieceToMove.cells){
-                if(ownCell[0] == newRow && ownCell[1] == newCol){
-                    partOfItself = true;
-                    break;
-                }
-            }
-
-            if (destinationCellContent != '.' && destinationCellContent != 'K' && !partOfItself) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private Board move(Board board, char pieceName, char dir) {
-        Board newBoard = board.clone();
-        Piece targetPieceInNewBoard = null;
-        for(Piece p : newBoard.pieces){
-            if(p.name == pieceName){
-                targetPieceInNewBoard = p;
-                break;
-            }
-        }
-
-        if (targetPieceInNewBoard == null) return newBoard;
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            newBoard.grid[cell[0]][cell[1]] = '.';
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            switch (dir) {
-                case 'L' -> cell[1]--;
-                case 'R' -> cell[1]++;
-                case 'U' -> cell[0]--;
-                case 'D' -> cell[0]++;
-            }
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            if (cell[0] >= 0 && cell[0] < newBoard.rows && cell[1] >=0 && cell[1] < newBoard.cols) {
-                 newBoard.grid[cell[0]][cell[1]] = pieceName;
-            } else {
-                System.err.println("Error critical (IDA*): Piece " + pieceName + " moved out of bounds. Row: " + cell[0] + ", Col: " + cell[1]);
-                return board; 
-            }
-        }
-        
-        char KODE_BIDAK_UTAMA = 'P';
-        if (pieceName == KODE_BIDAK_UTAMA) {
-            newBoard.primaryPiece = targetPieceInNewBoard;
-        }
-        return newBoard;
-    }
-
     private static class SearchResult {
         boolean isGoal;
         Path path;
@@ -472,18 +465,20 @@ public class IDAStar implements Solver {
     }
 
     private static class Path {
-        Board board;
+        long key;
         Path parent;
         char piece;
         char direction;
+        int distance;
         int g;
         int h;
 
-        public Path(Board board, Path parent, char piece, char direction, int g, int h) {
-            this.board = board;
+        public Path(long key, Path parent, char piece, char direction, int distance, int g, int h) {
+            this.key = key;
             this.parent = parent;
             this.piece = piece;
             this.direction = direction;
+            this.distance = distance;
             this.g = g;
             this.h = h;
         }
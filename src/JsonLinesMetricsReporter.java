@@ -0,0 +1,63 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+// Menulis setiap sampel SearchMetrics sebagai satu objek JSON per baris (JSON Lines), untuk
+// diolah skrip atau dashboard. Aman dipanggil dari banyak thread.
+public class JsonLinesMetricsReporter implements SearchListener, Closeable {
+    private final Writer out;
+
+    public JsonLinesMetricsReporter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onSample(SearchMetrics.Snapshot snapshot) {
+        write(snapshot);
+    }
+
+    @Override
+    public void onFinish(SearchMetrics.Snapshot snapshot) {
+        write(snapshot);
+    }
+
+    private synchronized void write(SearchMetrics.Snapshot snapshot) {
+        try {
+            out.write(toJson(snapshot));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Gagal menulis metrik: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // Nilai -1 (tidak relevan) ditulis sebagai null
+    public static String toJson(SearchMetrics.Snapshot s) {
+        return "{\"puzzle\": " + BatchReport.json(s.label)
+                + ", \"algorithm\": " + BatchReport.json(s.algorithm)
+                + ", \"final\": " + s.finished
+                + ", \"elapsed_ms\": " + s.elapsedMillis
+                + ", \"nodes\": " + s.nodes
+                + ", \"nodes_per_sec\": " + String.format(Locale.ROOT, "%.1f", s.nodesPerSecond)
+                + ", \"open\": " + optional(s.openSize)
+                + ", \"closed\": " + optional(s.closedSize)
+                + ", \"f\": " + optional(s.f)
+                + ", \"max_depth\": " + optional(s.maxDepth)
+                + ", \"heap_bytes\": " + s.heapBytes
+                + ", \"bytes_per_node\": " + (s.bytesPerNode < 0 ? "null" : String.format(Locale.ROOT, "%.1f", s.bytesPerNode))
+                + ", \"move_gen_ms\": " + s.phaseMillis(SearchMetrics.MOVES)
+                + ", \"hashing_ms\": " + s.phaseMillis(SearchMetrics.HASHING)
+                + ", \"heuristic_ms\": " + s.phaseMillis(SearchMetrics.HEURISTIC)
+                + ", \"queue_ms\": " + s.phaseMillis(SearchMetrics.QUEUE) + "}";
+    }
+
+    private static String optional(long value) {
+        return value < 0 ? "null" : Long.toString(value);
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+
+// Set long dengan open addressing + linear probing (pasangan LongIntHashMap untuk closed set)
+public class LongHashSet {
+    private static final double LOAD_FACTOR = 0.7;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+
+    public LongHashSet() {
+        this(1 << 10);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public boolean contains(long key) {
+        if (key == 0L) return hasZeroKey;
+        int slot = LongIntHashMap.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0L) {
+            if (existing == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // true jika key baru ditambahkan
+    public boolean add(long key) {
+        if (key == 0L) {
+            if (hasZeroKey) return false;
+            hasZeroKey = true;
+            size++;
+            return true;
+        }
+        int slot = LongIntHashMap.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0L) {
+            if (existing == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0L) {
+            if (!hasZeroKey) return false;
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int slot = LongIntHashMap.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0L) {
+            if (existing == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public long memoryBytes() {
+        return keys.length * (long) Long.BYTES;
+    }
+
+    public double bytesPerEntry() {
+        return size == 0 ? 0.0 : (double) memoryBytes() / size;
+    }
+
+    // Hapus tanpa tombstone: geser entry berikutnya dalam cluster ke slot yang kosong
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        long key;
+        while ((key = keys[next]) != 0L) {
+            int home = LongIntHashMap.mix(key) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0L;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        allocate(newCapacity);
+        for (long key : oldKeys) {
+            if (key == 0L) continue;
+            int slot = LongIntHashMap.mix(key) & mask;
+            while (keys[slot] != 0L) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+        }
+    }
+}
@@ -5,6 +5,10 @@ import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
+        if (CommandLine.isFlagMode(args)) {
+            System.exit(CommandLine.run(args));
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         try {
@@ -33,13 +37,21 @@ public class Main {
                 System.out.println("2. Uniform Cost Search (UCS)");
                 System.out.println("3. A* Search");
                 System.out.println("4. IDA* Search");
-                System.out.print("Pilihan Anda (1-4): ");
+                System.out.println("5. Bidirectional Search");
+                System.out.println("6. Hash Distributed A* (HDA*, paralel)");
+                System.out.println("7. Parallel IDA* Search (fork-join)");
+                System.out.println("8. Parallel BFS (per lapisan)");
+                System.out.println("9. Tabel Jarak (enumerasi seluruh state)");
+                System.out.println("10. SMA* (A* dengan memori terbatas)");
+                System.out.println("11. External BFS (frontier di file memory-mapped)");
+                System.out.println("12. ARA* (anytime, solusi cepat lalu diperbaiki)");
+                System.out.print("Pilihan Anda (1-12): ");
                 try {
                     algoChoice = scanner.nextInt();
-                    if (algoChoice >= 1 && algoChoice <= 4) {
+                    if (algoChoice >= 1 && algoChoice <= 12) {
                         break; 
                     } else {
-                        System.out.println("Pilihan tidak valid. Masukkan angka antara 1 dan 4.");
+                        System.out.println("Pilihan tidak valid. Masukkan angka antara 1 dan 12.");
                     }
                 } 
                 
@@ -52,28 +64,45 @@ public class Main {
 
             Solver solver = null;
             int heuristicChoice = -1; 
-            String algorithmName = ""; 
-
-            if (algoChoice == 2) {
-                
-                algorithmName = "Uniform Cost Search (UCS)";
-                solver = new UCS();
-            } 
-            
-            else {
+            CostModel costModel = CostModel.CELLS_MOVED;
+            if (algoChoice != 1) {
+                while (true) {
+                    System.out.println("\nPilih model biaya:");
+                    System.out.println("1. " + CostModel.CELLS_MOVED.getName());
+                    System.out.println("2. " + CostModel.PIECE_MOVES.getName());
+                    System.out.print("Pilihan Anda (1-2): ");
+                    try {
+                        int costChoice = scanner.nextInt();
+                        if (costChoice == 1 || costChoice == 2) {
+                            costModel = CostModel.values()[costChoice - 1];
+                            break;
+                        } else {
+                            System.out.println("Pilihan tidak valid. Masukkan angka 1 atau 2.");
+                        }
+                    } catch (InputMismatchException e) {
+                        System.out.println("Input tidak valid. Harap masukkan angka.");
+                        scanner.next(); 
+                    }
+                }
+            }
+            String algorithm = SolverFactory.ALGORITHMS[algoChoice - 1];
+            if (SolverFactory.usesHeuristic(algorithm)) {
                 
                 while (true) {
                     System.out.println("\nPilih heuristik:");
                     System.out.println("1. Manhattan Distance");
                     System.out.println("2. Euclidean Distance");
                     System.out.println("3. Obstacle-aware Distance");
-                    System.out.print("Pilihan Anda (1-3): ");
+                    System.out.println("4. Blocking Cars");
+                    System.out.println("5. Blocking Cars (2 level)");
+                    System.out.println("6. Pattern Database");
+                    System.out.print("Pilihan Anda (1-6): ");
                     try {
                         heuristicChoice = scanner.nextInt();
-                        if (heuristicChoice >= 1 && heuristicChoice <= 3) {
+                        if (heuristicChoice >= 1 && heuristicChoice <= 6) {
                             break;
                         } else {
-                            System.out.println("Pilihan tidak valid. Masukkan angka antara 1 dan 3.");
+                            System.out.println("Pilihan tidak valid. Masukkan angka antara 1 dan 6.");
                         }
                     } catch (InputMismatchException e) {
                         System.out.println("Input tidak valid. Harap masukkan angka.");
@@ -81,25 +110,12 @@ public class Main {
                     }
                     System.out.println(); 
                 }
-
-                int heuristicIndex = heuristicChoice - 1;
-
-                switch (algoChoice) {
-                    case 1:
-                        algorithmName = "Greedy Best First Search (GBFS)";
-                        solver = new GBFS(heuristicIndex);
-                        break;
-                    case 3:
-                        algorithmName = "A* Search";
-                        solver = new AStar(heuristicIndex);
-                        break;
-                    case 4:
-                        algorithmName = "IDA* Search";
-                        solver = new IDAStar(heuristicIndex);
-                        break;
-                }
             }
 
+            int heuristicIndex = heuristicChoice > 0 ? heuristicChoice - 1 : Heuristic.MANHATTAN;
+            String algorithmName = SolverFactory.getAlgorithmName(algorithm);
+            solver = SolverFactory.create(algorithm, heuristicIndex, costModel);
+
             
             if (solver == null) {
                 System.err.println("Error: Solver tidak terinisialisasi dengan benar. Program akan berhenti.");
@@ -116,6 +132,7 @@ public class Main {
             long endTime = System.currentTimeMillis();
             
             System.out.println("Waktu eksekusi: " + (endTime - startTime) + " ms");
+            System.out.println("Memori per state: " + String.format("%.1f", solver.getBytesPerState()) + " byte");
             System.out.println("Algoritma: " + algorithmName); 
         } 
 
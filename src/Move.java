@@ -1,11 +1,16 @@
 public class Move {
     public char piece;
+    public int pieceIndex;
     public char direction;
-    public Board board;
+    public int distance;
+    public long key;
 
-    public Move(char piece, char direction, Board board) {
+    // Hanya state hasil; Board dibangun bila perlu lewat StateEncoder.decode
+    public Move(int pieceIndex, char piece, char direction, int distance, long key) {
+        this.pieceIndex = pieceIndex;
         this.piece = piece;
         this.direction = direction;
-        this.board = board;
+        this.distance = distance;
+        this.key = key;
     }
 }
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Pembangkit successor bersama untuk semua Solver. Bekerja langsung pada state terenkode,
+// jadi tidak ada Board.clone per successor. Jangkauan geser dibaca dari okupansi BitBoard.
+// Menyimpan buffer kerja, satu instance per thread.
+public class MoveGenerator {
+    private final StateEncoder encoder;
+    private final int maxSlide;
+    private final int[] positions;
+    private final BitBoard occupancy;
+
+    // Geseran makro: satu Move boleh menggeser bidak sejauh apa pun yang masih kosong
+    public MoveGenerator(StateEncoder encoder) {
+        this(encoder, Integer.MAX_VALUE);
+    }
+
+    // maxSlide = 1 memberi model lama (satu sel per langkah), dipakai pencarian dengan biaya seragam
+    public MoveGenerator(StateEncoder encoder, int maxSlide) {
+        this.encoder = encoder;
+        this.maxSlide = maxSlide;
+        this.positions = new int[encoder.pieceCount];
+        this.occupancy = new BitBoard(encoder.rows, encoder.cols);
+    }
+
+    // Semua geseran sah dalam satu kali lewat papan; jarak bebas di depan kedua ujung bidak
+    // diambil dari bitmask baris/kolom. Urutan tetap: per bidak, U/D untuk vertikal lalu L/R
+    // untuk horizontal, jarak 1..maks.
+    public List<Move> generate(long state) {
+        encoder.positions(state, positions);
+        occupancy.fill(encoder, positions);
+
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < encoder.pieceCount; i++) {
+            int head = positions[i];
+            boolean horizontal = encoder.horizontal[i];
+            int back = back(i);
+            int forward = forward(i);
+
+            for (int d = 1; d <= back; d++) {
+                moves.add(createMove(state, i, horizontal ? 'L' : 'U', d, head - d));
+            }
+            for (int d = 1; d <= forward; d++) {
+                moves.add(createMove(state, i, horizontal ? 'R' : 'D', d, head + d));
+            }
+        }
+        return moves;
+    }
+
+    // Successor dalam urutan yang sama dengan generate, tetapi dari dan ke word mentah
+    // StateEncoder (wordCount() long per state) tanpa intern, untuk state yang disimpan di file.
+    // out harus muat maxSuccessors() state mulai dari outOffset; mengembalikan banyaknya successor.
+    public int generateWords(long[] words, int offset, long[] out, int outOffset) {
+        int width = encoder.wordCount();
+        encoder.unpack(words, offset, positions);
+        occupancy.fill(encoder, positions);
+
+        int count = 0;
+        for (int i = 0; i < encoder.pieceCount; i++) {
+            int back = back(i);
+            int forward = forward(i);
+            for (int k = 0; k < back + forward; k++) {
+                int position = k < back ? positions[i] - 1 - k : positions[i] + 1 + k - back;
+                int at = outOffset + count * width;
+                if (width == 1) out[at] = words[offset]; else System.arraycopy(words, offset, out, at, width);
+                encoder.setPosition(out, at, i, position);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int maxSuccessors() {
+        return encoder.pieceCount * Math.max(encoder.rows, encoder.cols);
+    }
+
+    // Jarak bebas di depan ujung belakang dan depan bidak i pada okupansi saat ini
+    private int back(int i) {
+        int head = positions[i];
+        int lane = encoder.lane[i];
+        int free = encoder.horizontal[i] ? occupancy.freeBefore(lane, head, true) : occupancy.freeBefore(head, lane, false);
+        return Math.min(free, maxSlide);
+    }
+
+    private int forward(int i) {
+        int tail = positions[i] + encoder.length[i] - 1;
+        int lane = encoder.lane[i];
+        int free = encoder.horizontal[i] ? occupancy.freeAfter(lane, tail, true) : occupancy.freeAfter(tail, lane, false);
+        return Math.min(free, maxSlide);
+    }
+
+    private Move createMove(long state, int pieceIndex, char dir, int distance, int newPosition) {
+        long successor = encoder.withPosition(state, pieceIndex, newPosition);
+        return new Move(pieceIndex, encoder.names[pieceIndex], dir, distance, successor);
+    }
+}
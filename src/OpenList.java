@@ -0,0 +1,24 @@
+// Open list untuk pencarian best-first. HEAP memakai PriorityQueue (O(log n), urutan lewat
+// compareTo), BUCKET memakai bucket per prioritas integer (Dial) dengan push/pop O(1).
+public interface OpenList<T> {
+    enum Type {
+        HEAP,
+        BUCKET;
+
+        public String getName() {
+            return switch (this) {
+                case HEAP -> "Binary heap";
+                case BUCKET -> "Bucket (Dial)";
+            };
+        }
+    }
+
+    void add(T item);
+
+    // Elemen dengan prioritas terkecil, null jika kosong
+    T poll();
+
+    boolean isEmpty();
+
+    int size();
+}
@@ -0,0 +1,416 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Hash Distributed A* (HDA*): ruang state dibagi ke beberapa worker berdasarkan hash state.
+// Setiap worker punya open list dan tabel g sendiri; successor milik worker lain dikumpulkan
+// per tujuan dan dikirim dalam batch lewat antrean lock-free. Solusi pertama hanya menjadi
+// incumbent: pencarian baru berhenti saat tidak ada lagi node dengan f < f incumbent
+// di worker mana pun maupun di antrean, sama dengan syarat berhenti A* biasa.
+public class ParallelAStar implements Solver {
+    private static final int BATCH_SIZE = 64;
+    private static final int FLUSH_INTERVAL = 256; // kirim batch yang belum penuh setiap N ekspansi
+
+    private StateEncoder encoder;
+    private final CostModel costModel;
+    private final int heuristicType;
+    private final int threads;
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    // State bersama selama satu pencarian
+    private Worker[] workers;
+    private List<ConcurrentLinkedQueue<List<Node>>> inboxes;
+    // Banyaknya worker aktif + batch yang masih di antrean; 0 berarti pencarian selesai
+    private AtomicLong pendingWork;
+    private volatile boolean stopped;
+    private SearchLimits.Budget budget;
+    private SearchMetrics.Recorder recorder;
+    private AtomicLong sharedExpanded;   // untuk batas node, diperbarui per FLUSH_INTERVAL ekspansi
+    // Dibandingkan dengan f, bukan g: heuristik jarak ke pintu keluar tidak 0 di state tujuan
+    private volatile int incumbentF;
+    private Node incumbent;
+
+    public ParallelAStar(int heuristicType) {
+        this(heuristicType, CostModel.CELLS_MOVED);
+    }
+
+    public ParallelAStar(int heuristicType, CostModel costModel) {
+        this(heuristicType, costModel, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelAStar(int heuristicType, CostModel costModel, int threads) {
+        this.heuristicType = heuristicType;
+        this.costModel = costModel;
+        this.threads = Math.max(1, threads);
+    }
+
+    private String getAlgorithmName() {
+        return "Hash Distributed A* (HDA*)";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + ", " + threads + " thread");
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + ", " + threads + " thread (mencari path list)");
+        Node solutionNode = search(start);
+        if (solutionNode == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+
+        List<Board> boardPath = new ArrayList<>();
+        Node tempNode = solutionNode;
+        while (tempNode != null) {
+            boardPath.add(encoder.decode(tempNode.key));
+            tempNode = tempNode.parent;
+        }
+        Collections.reverse(boardPath);
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    private Node search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        stopped = false;
+        incumbentF = Integer.MAX_VALUE;
+        incumbent = null;
+        pendingWork = new AtomicLong(threads);
+        budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        sharedExpanded = new AtomicLong();
+
+        workers = new Worker[threads];
+        inboxes = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+            workers[i] = new Worker(i);
+        }
+        budget.meterMemory(this::memoryBytes);
+
+        long startKey = encoder.encode(start);
+        int h = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        workers[owner(startKey)].offer(new Node(startKey, null, '\0', '\0', 0, 0, h));
+
+        Thread[] running = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            running[i] = new Thread(workers[i], "hda-" + i);
+            running[i].setDaemon(true);
+            running[i].start();
+        }
+        try {
+            for (Thread thread : running) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            stopped = true;
+            for (Thread thread : running) {
+                try {
+                    thread.join();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            Thread.currentThread().interrupt();
+            collectStatistics();
+            throw new BudgetExceededException(BudgetExceededException.Reason.CANCELLED, nodesExpanded,
+                    "Pencarian dihentikan setelah " + nodesExpanded + " node");
+        }
+        collectStatistics();
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw worker.failure;
+            }
+        }
+        recorder.finish(nodesExpanded, openSize(), tableSize(), incumbent == null ? -1 : incumbentF);
+
+        if (incumbent != null) {
+            lastSummarizedStepCount = countSummarizedSteps(incumbent);
+        }
+        return incumbent;
+    }
+
+    private void collectStatistics() {
+        long memory = 0;
+        int states = 0;
+        nodesExpanded = 0;
+        for (Worker worker : workers) {
+            nodesExpanded += worker.expanded;
+            memory += worker.bestCost.memoryBytes();
+            states += worker.bestCost.size();
+        }
+        bytesPerState = memory / (double) Math.max(1, states);
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+    }
+
+    // Ukuran gabungan semua worker untuk metrik; dibaca tanpa sinkronisasi, jadi hanya perkiraan
+    private long openSize() {
+        long size = 0;
+        for (Worker worker : workers) {
+            size += worker.openSet.size();
+        }
+        return size;
+    }
+
+    private long memoryBytes() {
+        long bytes = (openSize() + sharedExpanded.get()) * SearchLimits.NODE_BYTES;
+        for (Worker worker : workers) {
+            bytes += worker.bestCost.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private long tableSize() {
+        long size = 0;
+        for (Worker worker : workers) {
+            size += worker.bestCost.size();
+        }
+        return size;
+    }
+
+    // Pemilik state: bit atas hash, agar tidak berkorelasi dengan slot LongIntHashMap milik worker
+    private int owner(long key) {
+        return (int) ((((key * 0xC2B2AE3D27D4EB4FL) >>> 32) * threads) >>> 32);
+    }
+
+    private synchronized void offerSolution(Node goal) {
+        if (goal.g + goal.h < incumbentF) {
+            incumbent = goal;
+            incumbentF = goal.g + goal.h;
+        }
+    }
+
+    private int countSummarizedSteps(Node solutionNode) {
+        int steps = 0;
+        for (Node node = solutionNode; node != null && node.parent != null; node = node.parent) {
+            Node previous = node.parent;
+            if (previous.parent == null || previous.piece != node.piece || previous.direction != node.direction) {
+                steps++;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private class Worker implements Runnable {
+        final int id;
+        final PriorityQueue<Node> openSet = new PriorityQueue<>();
+        final LongIntHashMap bestCost = new LongIntHashMap();
+        final List<List<Node>> outgoing;
+        final long[] phases = new long[SearchMetrics.PHASES];
+        int expanded;
+        RuntimeException failure;
+
+        Worker(int id) {
+            this.id = id;
+            outgoing = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                outgoing.add(new ArrayList<>(BATCH_SIZE));
+            }
+        }
+
+        void offer(Node node) {
+            if (node.g < bestCost.get(node.key, Integer.MAX_VALUE)) {
+                bestCost.put(node.key, node.g);
+                openSet.add(node);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                loop();
+            } catch (RuntimeException e) {
+                failure = e;
+                stopped = true;
+            } finally {
+                recorder.addPhases(phases);
+            }
+        }
+
+        private void loop() {
+            MoveGenerator moveGenerator = new MoveGenerator(encoder);
+            boolean active = true;
+            while (!stopped) {
+                List<Node> batch;
+                while ((batch = inboxes.get(id).poll()) != null) {
+                    for (Node node : batch) {
+                        offer(node);
+                    }
+                    // Batch yang diterima worker idle berpindah menjadi worker aktif (jumlah tetap)
+                    if (active) {
+                        pendingWork.decrementAndGet();
+                    } else {
+                        active = true;
+                    }
+                }
+
+                long t = recorder.time();
+                Node current = nextUseful();
+                t = recorder.lap(phases, SearchMetrics.QUEUE, t);
+                if (current == null) {
+                    flushAll();
+                    if (!inboxes.get(id).isEmpty()) continue;
+                    if (active) {
+                        active = false;
+                        pendingWork.decrementAndGet();
+                    }
+                    if (pendingWork.get() == 0) return;
+                    LockSupport.parkNanos(20_000);
+                    continue;
+                }
+
+                expanded++;
+                if (encoder.isGoal(current.key)) {
+                    offerSolution(current);
+                    continue;
+                }
+                List<Move> moves = moveGenerator.generate(current.key);
+                t = recorder.lap(phases, SearchMetrics.MOVES, t);
+                for (Move move : moves) {
+                    int newG = current.g + costModel.cost(move.distance);
+                    int target = owner(move.key);
+                    if (target == id && newG >= bestCost.get(move.key, Integer.MAX_VALUE)) continue;
+                    t = recorder.lap(phases, SearchMetrics.HASHING, t);
+                    int newH = Heuristic.calculate(encoder, current.key, current.h, move, heuristicType, costModel);
+                    t = recorder.lap(phases, SearchMetrics.HEURISTIC, t);
+                    if (newG + newH >= incumbentF) continue;
+                    Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newG, newH);
+                    if (target == id) {
+                        offer(neighbor);
+                    } else {
+                        List<Node> pending = outgoing.get(target);
+                        pending.add(neighbor);
+                        if (pending.size() >= BATCH_SIZE) flush(target);
+                    }
+                    t = recorder.lap(phases, SearchMetrics.QUEUE, t);
+                }
+                recorder.lap(phases, SearchMetrics.HASHING, t);
+                if (expanded % FLUSH_INTERVAL == 0) {
+                    flushAll();
+                    long total = sharedExpanded.addAndGet(FLUSH_INTERVAL);
+                    budget.checkNow(total);
+                    if (recorder.isEnabled()) {
+                        recorder.addPhases(phases);
+                        recorder.sampleNow(total, openSize(), tableSize(), current.g + current.h, current.g);
+                    }
+                }
+            }
+        }
+
+        // Node berikutnya yang masih bisa memperbaiki incumbent; node usang dan f >= incumbent dibuang
+        private Node nextUseful() {
+            Node current;
+            while ((current = openSet.poll()) != null) {
+                if (current.g > bestCost.get(current.key, Integer.MAX_VALUE)) continue;
+                if (current.g + current.h >= incumbentF) {
+                    openSet.clear(); // semua sisa node punya f yang sama atau lebih besar
+                    return null;
+                }
+                return current;
+            }
+            return null;
+        }
+
+        private void flush(int target) {
+            // Dihitung sebelum masuk antrean agar pendingWork tidak pernah 0 selama batch dalam perjalanan
+            pendingWork.incrementAndGet();
+            inboxes.get(target).add(outgoing.get(target));
+            outgoing.set(target, new ArrayList<>(BATCH_SIZE));
+        }
+
+        private void flushAll() {
+            for (int i = 0; i < threads; i++) {
+                if (!outgoing.get(i).isEmpty()) flush(i);
+            }
+        }
+    }
+
+    private static class Node implements Comparable<Node> {
+        long key;
+        Node parent;
+        char piece;
+        char direction;
+        int distance;
+        int g;
+        int h;
+
+        public Node(long key, Node parent, char piece, char direction, int distance, int g, int h) {
+            this.key = key;
+            this.parent = parent;
+            this.piece = piece;
+            this.direction = direction;
+            this.distance = distance;
+            this.g = g;
+            this.h = h;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int fThis = this.g + this.h;
+            int fOther = other.g + other.h;
+            if (fThis == fOther) { // Tie-breaking: prefer smaller h
+                return Integer.compare(this.h, other.h);
+            }
+            return Integer.compare(fThis, fOther);
+        }
+    }
+}
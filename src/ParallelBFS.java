@@ -0,0 +1,312 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// BFS per lapisan untuk biaya seragam: dengan geseran satu sel (CELLS_MOVED) atau geseran makro
+// (PIECE_MOVES) setiap langkah berbiaya 1, jadi lapisan ke-d berisi tepat state dengan biaya
+// optimal d dan hasilnya sama optimalnya dengan UCS tanpa PriorityQueue maupun tabel g.
+// Frontier satu lapisan dibagi menjadi potongan yang diekspansi paralel; lapisan berikutnya
+// dideduplikasi lewat visited set ber-stripe. Lapisan disimpan sebagai long[] state + int[]
+// indeks parent di lapisan sebelumnya, cukup untuk membangun ulang path.
+public class ParallelBFS implements Solver {
+    private static final int MIN_CHUNK = 512;   // lapisan lebih kecil diekspansi di thread pemanggil
+
+    private StateEncoder encoder;
+    private final CostModel costModel;
+    private final int threads;
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics.Recorder recorder;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    public ParallelBFS() {
+        this(CostModel.CELLS_MOVED);
+    }
+
+    public ParallelBFS(CostModel costModel) {
+        this(costModel, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBFS(CostModel costModel, int threads) {
+        this.costModel = costModel;
+        this.threads = Math.max(1, threads);
+    }
+
+    private String getAlgorithmName() {
+        return "Parallel BFS";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + ", " + threads + " thread");
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + ", " + threads + " thread (mencari path list)");
+        long[] statePath = search(start);
+        if (statePath == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        List<Board> boardPath = new ArrayList<>();
+        for (long state : statePath) {
+            boardPath.add(encoder.decode(state));
+        }
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName());
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    private long[] search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        int maxSlide = costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE;
+
+        StripedLongHashSet visited = new StripedLongHashSet(threads * 16);
+        // Setiap state yang dikunjungi juga tersimpan sekali di lapisannya (key + indeks parent)
+        budget.meterMemory(() -> visited.memoryBytes() + visited.size() * (long) (Long.BYTES + Integer.BYTES));
+        List<Layer> layers = new ArrayList<>();
+        long startKey = encoder.encode(start);
+        visited.add(startKey);
+        layers.add(new Layer(new long[]{startKey}, new int[]{-1}));
+
+        ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        long[] solution = null;
+        try {
+            while (true) {
+                Layer frontier = layers.get(layers.size() - 1);
+                int goalIndex = findGoal(frontier);
+                if (goalIndex >= 0) {
+                    solution = rebuildPath(layers, goalIndex);
+                    break;
+                }
+                if (frontier.size() == 0) break;
+
+                List<Chunk> chunks = new ArrayList<>();
+                int chunkCount = pool == null ? 1 : Math.max(1, Math.min(threads * 4, frontier.size() / MIN_CHUNK));
+                int chunkSize = (frontier.size() + chunkCount - 1) / chunkCount;
+                for (int from = 0; from < frontier.size(); from += chunkSize) {
+                    chunks.add(new Chunk(frontier, from, Math.min(frontier.size(), from + chunkSize), visited, maxSlide, budget, nodesExpanded + from));
+                }
+                layers.add(expandLayer(chunks, pool));
+                nodesExpanded += frontier.size();
+                budget.checkNow(nodesExpanded);
+                recorder.sampleNow(nodesExpanded, layers.get(layers.size() - 1).size(), visited.size(), -1, layers.size() - 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // tetap tandai thread pemanggil seperti solver lain
+            throw new BudgetExceededException(BudgetExceededException.Reason.CANCELLED, nodesExpanded,
+                    "Pencarian dihentikan setelah " + nodesExpanded + " node");
+        } finally {
+            if (pool != null) pool.shutdownNow();
+        }
+
+        long layerBytes = 0;
+        for (Layer layer : layers) {
+            layerBytes += layer.size() * (long) (Long.BYTES + Integer.BYTES);
+        }
+        bytesPerState = (visited.memoryBytes() + layerBytes) / (double) Math.max(1, visited.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
+        recorder.finish(nodesExpanded, layers.get(layers.size() - 1).size(), visited.size(), -1);
+        if (solution != null) {
+            lastSummarizedStepCount = countSummarizedSteps(solution);
+        }
+        return solution;
+    }
+
+    private int findGoal(Layer layer) {
+        for (int i = 0; i < layer.size(); i++) {
+            if (encoder.isGoal(layer.states[i])) return i;
+        }
+        return -1;
+    }
+
+    // Potongan kecil dijalankan langsung; sisanya lewat pool, lalu hasilnya disambung berurutan
+    private Layer expandLayer(List<Chunk> chunks, ExecutorService pool) throws InterruptedException {
+        List<Chunk> done = new ArrayList<>();
+        if (pool == null || chunks.size() == 1) {
+            for (Chunk chunk : chunks) {
+                done.add(chunk.call());
+            }
+        } else {
+            try {
+                for (Future<Chunk> future : pool.invokeAll(chunks)) {
+                    done.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+            }
+        }
+
+        int total = 0;
+        for (Chunk chunk : done) {
+            total += chunk.count;
+        }
+        long[] states = new long[total];
+        int[] parents = new int[total];
+        int n = 0;
+        for (Chunk chunk : done) {
+            System.arraycopy(chunk.states, 0, states, n, chunk.count);
+            System.arraycopy(chunk.parents, 0, parents, n, chunk.count);
+            n += chunk.count;
+        }
+        return new Layer(states, parents);
+    }
+
+    private long[] rebuildPath(List<Layer> layers, int goalIndex) {
+        long[] path = new long[layers.size()];
+        int index = goalIndex;
+        for (int depth = layers.size() - 1; depth >= 0; depth--) {
+            Layer layer = layers.get(depth);
+            path[depth] = layer.states[index];
+            index = layer.parents[index];
+        }
+        return path;
+    }
+
+    // Langkah ringkas: geseran berurutan dari bidak dan arah yang sama dihitung satu
+    private int countSummarizedSteps(long[] path) {
+        int steps = 0;
+        int lastPiece = -1;
+        int lastSign = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (int piece = 0; piece < encoder.pieceCount; piece++) {
+                int delta = encoder.position(path[i], piece) - encoder.position(path[i - 1], piece);
+                if (delta == 0) continue;
+                int sign = Integer.signum(delta);
+                if (piece != lastPiece || sign != lastSign) steps++;
+                lastPiece = piece;
+                lastSign = sign;
+                break;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static class Layer {
+        final long[] states;
+        final int[] parents;   // indeks di lapisan sebelumnya
+
+        Layer(long[] states, int[] parents) {
+            this.states = states;
+            this.parents = parents;
+        }
+
+        int size() {
+            return states.length;
+        }
+    }
+
+    // Ekspansi frontier[from, to) dengan MoveGenerator sendiri; successor baru ditampung lokal
+    private class Chunk implements Callable<Chunk> {
+        final Layer frontier;
+        final int from, to;
+        final StripedLongHashSet visited;
+        final int maxSlide;
+        final SearchLimits.Budget budget;
+        final long baseNodes;   // node yang sudah diekspansi sebelum potongan ini
+        long[] states = new long[64];
+        int[] parents = new int[64];
+        int count;
+
+        Chunk(Layer frontier, int from, int to, StripedLongHashSet visited, int maxSlide, SearchLimits.Budget budget, long baseNodes) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.visited = visited;
+            this.maxSlide = maxSlide;
+            this.budget = budget;
+            this.baseNodes = baseNodes;
+        }
+
+        @Override
+        public Chunk call() {
+            MoveGenerator moveGenerator = new MoveGenerator(encoder, maxSlide);
+            long[] phases = new long[SearchMetrics.PHASES];
+            for (int i = from; i < to; i++) {
+                if (Thread.currentThread().isInterrupted()) break;
+                if (((i - from) & 0x3FF) == 0x3FF) budget.checkNow(baseNodes + i - from);
+                long t = recorder.time();
+                List<Move> moves = moveGenerator.generate(frontier.states[i]);
+                t = recorder.lap(phases, SearchMetrics.MOVES, t);
+                for (Move move : moves) {
+                    if (visited.add(move.key)) {
+                        append(move.key, i);
+                    }
+                }
+                recorder.lap(phases, SearchMetrics.HASHING, t);
+            }
+            recorder.addPhases(phases);
+            return this;
+        }
+
+        private void append(long state, int parent) {
+            if (count == states.length) {
+                states = Arrays.copyOf(states, count * 2);
+                parents = Arrays.copyOf(parents, count * 2);
+            }
+            states[count] = state;
+            parents[count] = parent;
+            count++;
+        }
+    }
+}
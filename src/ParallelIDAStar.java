@@ -0,0 +1,423 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// IDA* paralel: setiap iterasi, pohon f-bounded dipecah menjadi task ForkJoinPool sampai
+// kedalaman splitDepth; di bawahnya setiap task menjelajah subtree-nya secara rekursif seperti
+// IDAStar. Thread yang menganggur mencuri task dari thread lain (work stealing).
+// Seperti IDAStar, transposisi dipangkas lewat tabel transposisi (di sini satu tabel bersama
+// dengan lock per stripe) dan geseran diurutkan dengan skor history; setiap thread worker
+// memegang salinan history sendiri yang digabung di setiap batas. Batas berikutnya adalah
+// minimum hasil semua subtree; begitu satu task menemukan tujuan dalam batas saat ini, semua
+// task lain berhenti.
+public class ParallelIDAStar implements Solver {
+    private static final int DEFAULT_SPLIT_DEPTH = 3;
+    private static final int TABLE_CAPACITY = 1 << 20;
+    private static final int CONTINUE = TranspositionTable.UNKNOWN;
+
+    private StateEncoder encoder;
+    private final CostModel costModel;
+    private final int heuristicType;
+    private final int threads;
+    private final int splitDepth;
+    private int totalNodesExpanded;
+    private int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private boolean complete = true;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    // Bertahan antar iterasi: g terbaik per state dan skor history gabungan per (bidak, arah)
+    private StripedTranspositionTable table;
+    private long[] history;
+
+    // State bersama satu iterasi
+    private int bound;
+    private Map<Thread, long[]> workerHistory;
+    private AtomicReference<Path> solution;
+    private volatile boolean cancelled;
+    private SearchLimits.Budget budget;
+    private SearchMetrics.Recorder recorder;
+    private LongAdder nodeCounter;
+    private LongAccumulator peakPathStates;
+    private LongAccumulator peakPathBytes;
+
+    public ParallelIDAStar(int heuristicType) {
+        this(heuristicType, CostModel.CELLS_MOVED);
+    }
+
+    public ParallelIDAStar(int heuristicType, CostModel costModel) {
+        this(heuristicType, costModel, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelIDAStar(int heuristicType, CostModel costModel, int threads) {
+        this(heuristicType, costModel, threads, DEFAULT_SPLIT_DEPTH);
+    }
+
+    public ParallelIDAStar(int heuristicType, CostModel costModel, int threads, int splitDepth) {
+        this.heuristicType = heuristicType;
+        this.costModel = costModel;
+        this.threads = Math.max(1, threads);
+        this.splitDepth = Math.max(0, splitDepth);
+    }
+
+    private String getAlgorithmName() {
+        return "Parallel IDA* Search";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + ", " + threads + " thread");
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + ", " + threads + " thread (mencari path list)");
+        Path solutionPathNode = search(start);
+        if (solutionPathNode == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+
+        List<Board> boardPath = new ArrayList<>();
+        Path tempPath = solutionPathNode;
+        while (tempPath != null) {
+            boardPath.add(encoder.decode(tempPath.key));
+            tempPath = tempPath.parent;
+        }
+        Collections.reverse(boardPath);
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        System.out.println("Total Node yang dieksplorasi (hingga pencarian terakhir): " + totalNodesExpanded);
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Total Node yang dieksplorasi: " + totalNodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    private Path search(Board start) {
+        totalNodesExpanded = 0;
+        complete = true;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        nodeCounter = new LongAdder();
+        peakPathStates = new LongAccumulator(Math::max, 0);
+        peakPathBytes = new LongAccumulator(Math::max, 0);
+        budget = limits.start();
+        recorder = metrics.start(getAlgorithmName());
+        table = new StripedTranspositionTable(threads * 16, TranspositionTable.capacityFor(limits, TABLE_CAPACITY));
+        // Setiap thread punya path sendiri, jadi path terdalam dihitung sekali per thread
+        budget.meterMemory(() -> table.memoryBytes() + threads * (peakPathStates.get() * SearchLimits.NODE_BYTES + peakPathBytes.get()));
+        history = new long[encoder.pieceCount * 2];
+        long startKey = encoder.encode(start);
+        int startH = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        Path root = new Path(startKey, null, '\0', '\0', 0, 0, startH);
+        bound = startH;
+        Path solutionPathNode = null;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            while (true) {
+                System.out.println("Menjelajah dengan batas f-cost: " + bound);
+                workerHistory = new ConcurrentHashMap<>();
+                solution = new AtomicReference<>();
+                cancelled = false;
+
+                SubtreeTask rootTask = new SubtreeTask(root, 0);
+                ForkJoinTask<Void> iteration = pool.submit(rootTask);
+                try {
+                    iteration.get();
+                } catch (InterruptedException e) {
+                    cancelled = true;
+                    iteration.cancel(true);
+                    Thread.currentThread().interrupt();
+                    totalNodesExpanded = nodeCounter.intValue();
+                    throw new BudgetExceededException(BudgetExceededException.Reason.CANCELLED, totalNodesExpanded,
+                            "Pencarian dihentikan setelah " + totalNodesExpanded + " node");
+                } catch (ExecutionException e) {
+                    cancelled = true; // mis. batas SearchLimits tercapai di salah satu task
+                    iteration.cancel(true);
+                    totalNodesExpanded = nodeCounter.intValue();
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                }
+                totalNodesExpanded = nodeCounter.intValue();
+                mergeHistory();
+
+                if (solution.get() != null) {
+                    solutionPathNode = solution.get();
+                    break;
+                }
+                int candidate = rootTask.result;
+                if (candidate == Integer.MAX_VALUE) {
+                    System.out.println("Tidak ada batas berikutnya, solusi tidak ditemukan.");
+                    break;
+                }
+                bound = candidate <= bound ? bound + 1 : candidate;
+                if (bound > 1000) {
+                    System.out.println("IDA* melebihi batas iterasi/f-cost maksimum (" + bound + "), menghentikan.");
+                    complete = false;
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        bytesPerState = (peakPathBytes.get() + table.memoryBytes()) / (double) Math.max(1, peakPathStates.get() + table.size());
+        recorder.finish(totalNodesExpanded, -1, table.size(), bound);
+        if (solutionPathNode != null) {
+            lastSummarizedStepCount = countSummarizedSteps(solutionPathNode);
+        }
+        return solutionPathNode;
+    }
+
+    // Selisih history setiap worker dijumlahkan ke history gabungan, lalu skor lama dikurangi
+    // setengah agar urutan mengikuti batas f-cost terbaru (sama seperti IDAStar.ageHistory)
+    private void mergeHistory() {
+        long[] merged = history.clone();
+        for (long[] local : workerHistory.values()) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += local[i] - history[i];
+            }
+        }
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] >>= 1;
+        }
+        history = merged;
+    }
+
+    private int countSummarizedSteps(Path solutionPathNode) {
+        int steps = 0;
+        for (Path node = solutionPathNode; node != null && node.parent != null; node = node.parent) {
+            Path previous = node.parent;
+            if (previous.parent == null || previous.piece != node.piece || previous.direction != node.direction) {
+                steps++;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return totalNodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Satu subtree: di atas splitDepth anak-anaknya dijadikan task baru, di bawahnya DFS biasa.
+    // result = batas berikutnya dari subtree ini (f terkecil yang melewati batas).
+    private class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path node;
+        private final int depth;
+        private MoveGenerator moveGenerator;
+        private LongHashSet pathStates;
+        private long[] localHistory;
+        private Comparator<Move> historyOrder;
+        private int expanded;    // dihitung lokal, digabung ke nodeCounter sekali di akhir task
+        private int peakStates;
+        private final long[] phases = new long[SearchMetrics.PHASES];
+        int result = Integer.MAX_VALUE;
+
+        SubtreeTask(Path node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            // Slide satu sel untuk CELLS_MOVED, sama seperti IDAStar
+            moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+            pathStates = new LongHashSet(64);
+            for (Path ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+                pathStates.add(ancestor.key);
+            }
+            // Hanya dibaca dan ditulis oleh thread pemiliknya selama iterasi
+            localHistory = workerHistory.computeIfAbsent(Thread.currentThread(), k -> history.clone());
+            historyOrder = (a, b) -> Long.compare(localHistory[historyIndex(b)], localHistory[historyIndex(a)]);
+            try {
+                result = depth < splitDepth ? split() : dfs(node);
+            } finally {
+                nodeCounter.add(expanded);
+                peakPathStates.accumulate(peakStates);
+                peakPathBytes.accumulate(pathStates.memoryBytes());
+                recorder.addPhases(phases);
+            }
+        }
+
+        private int split() {
+            int entered = enter(node);
+            if (entered != CONTINUE) return entered;
+            List<SubtreeTask> children = new ArrayList<>();
+            for (Move move : moveGenerator.generate(node.key)) {
+                Path child = childOf(node, move);
+                if (!pathStates.contains(child.key)) {
+                    children.add(new SubtreeTask(child, depth + 1));
+                }
+            }
+            invokeAll(children);
+            int minNextBound = Integer.MAX_VALUE;
+            for (SubtreeTask child : children) {
+                minNextBound = Math.min(minNextBound, child.result);
+            }
+            if (!cancelled) {
+                table.complete(node.key, node.g, minNextBound);
+            }
+            return minNextBound;
+        }
+
+        // CONTINUE jika node perlu dijelajah lebih dalam (sudah dicatat di tabel transposisi),
+        // selain itu batas berikutnya yang langsung dikembalikan untuk node ini
+        private int enter(Path current) {
+            if (cancelled || solution.get() != null) return Integer.MAX_VALUE;
+            expanded++;
+            if ((expanded & 0x3FF) == 0) {
+                long total = nodeCounter.sum() + expanded;
+                budget.checkNow(total);
+                if (recorder.isEnabled()) {
+                    recorder.addPhases(phases);
+                    recorder.sampleNow(total, -1, -1, bound, current.g);
+                }
+            }
+            int fCost = current.g + current.h;
+            if (fCost > bound) {
+                return fCost;
+            }
+            if (encoder.isGoal(current.key)) {
+                if (solution.compareAndSet(null, current)) {
+                    cancelled = true; // task lain berhenti di pengecekan berikutnya
+                }
+                return Integer.MAX_VALUE;
+            }
+            long t = recorder.time();
+            if (pathStates.contains(current.key)) {
+                recorder.lap(phases, SearchMetrics.HASHING, t);
+                return Integer.MAX_VALUE;
+            }
+            // State yang pernah dicapai dengan g lebih kecil (oleh thread mana pun) dijelajah lewat
+            // jalur yang lebih murah itu; subtree dengan g dan batas sama cukup dibaca hasilnya
+            int cached = table.enter(current.key, current.g, bound);
+            recorder.lap(phases, SearchMetrics.HASHING, t);
+            return cached;
+        }
+
+        private int dfs(Path current) {
+            int entered = enter(current);
+            if (entered != CONTINUE) return entered;
+            long t = recorder.time();
+            long boardKey = current.key;
+            pathStates.add(boardKey);
+            peakStates = Math.max(peakStates, pathStates.size());
+            t = recorder.lap(phases, SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(boardKey);
+            moves.sort(historyOrder);
+            recorder.lap(phases, SearchMetrics.MOVES, t);
+            int minNextBound = Integer.MAX_VALUE;
+            Move bestMove = null;
+            for (Move move : moves) {
+                int childBound = dfs(childOf(current, move));
+                if (cancelled) break;
+                if (childBound < minNextBound) {
+                    minNextBound = childBound;
+                    bestMove = move;
+                }
+            }
+            t = recorder.time();
+            pathStates.remove(boardKey);
+            if (!cancelled) {
+                table.complete(boardKey, current.g, minNextBound);
+                // Geseran yang subtree-nya paling dekat ke batas berikutnya dicoba lebih dulu nanti
+                if (bestMove != null && minNextBound != Integer.MAX_VALUE) {
+                    localHistory[historyIndex(bestMove)] += bound - current.g;
+                }
+            }
+            recorder.lap(phases, SearchMetrics.HASHING, t);
+            return minNextBound;
+        }
+
+        private Path childOf(Path parent, Move move) {
+            int newGCost = parent.g + costModel.cost(move.distance);
+            long t = recorder.time();
+            int newHCost = Heuristic.calculate(encoder, parent.key, parent.h, move, heuristicType, costModel);
+            recorder.lap(phases, SearchMetrics.HEURISTIC, t);
+            return new Path(move.key, parent, move.piece, move.direction, move.distance, newGCost, newHCost);
+        }
+    }
+
+    // Indeks history: per bidak, mundur (L/U) atau maju (R/D)
+    private static int historyIndex(Move move) {
+        return move.pieceIndex * 2 + (move.direction == 'R' || move.direction == 'D' ? 1 : 0);
+    }
+
+    private static class Path {
+        long key;
+        Path parent;
+        char piece;
+        char direction;
+        int distance;
+        int g;
+        int h;
+
+        public Path(long key, Path parent, char piece, char direction, int distance, int g, int h) {
+            this.key = key;
+            this.parent = parent;
+            this.piece = piece;
+            this.direction = direction;
+            this.distance = distance;
+            this.g = g;
+            this.h = h;
+        }
+    }
+}
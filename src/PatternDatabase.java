@@ -0,0 +1,225 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pattern database: papan diabstraksi menjadi bidak utama + beberapa bidak yang bisa menutup
+// jalur keluarnya, bidak lain dianggap tidak ada. Jarak setiap state abstrak ke tujuan dihitung
+// sekali dengan BFS mundur dari semua state tujuan dan disimpan dalam byte[]. Karena abstraksi
+// hanya melonggarkan aturan, jaraknya tidak pernah melebihi biaya asli (admissible).
+public class PatternDatabase {
+    private static final int MAX_PATTERN_PIECES = 8;   // di luar bidak utama
+    private static final int MAX_ENTRIES = 1 << 22;
+    private static final int UNVISITED = 0xFF;
+    private static final int MAX_STORED = 0xFE;
+
+    private static final int MAX_CACHED = 8;
+
+    // Dibangun sekali per layout dan model biaya, dipakai bersama oleh semua pencarian. LRU agar
+    // batch dengan banyak layout tidak menumpuk tabel; entri cache tidak memegang encoder
+    // pembangunnya (beserta state papan besar yang di-intern di sana).
+    private static final Map<String, PatternDatabase> CACHE = new LinkedHashMap<String, PatternDatabase>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PatternDatabase> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+    private static final String[] ENCODER_KEYS = {"pdb:" + CostModel.CELLS_MOVED, "pdb:" + CostModel.PIECE_MOVES};
+
+    private final StateEncoder encoder;
+    private final CostModel costModel;
+    private final int[] pieces;   // indeks bidak di encoder, pieces[0] = bidak utama
+    private final int[] stride;   // index = sum(posisi * stride)
+    private final byte[] table;
+    private int maxDistance;
+
+    private PatternDatabase(StateEncoder encoder, CostModel costModel, int[] pieces) {
+        this.encoder = encoder;
+        this.costModel = costModel;
+        this.pieces = pieces;
+        this.stride = new int[pieces.length];
+        int entries = 1;
+        for (int k = pieces.length - 1; k >= 0; k--) {
+            stride[k] = entries;
+            entries *= encoder.positionCount[pieces[k]];
+        }
+        this.table = new byte[entries];
+        build();
+    }
+
+    // Tabel yang sama dibaca lewat encoder lain dengan layout identik (id state papan besar per
+    // encoder); encoder null untuk salinan yang disimpan di cache
+    private PatternDatabase(PatternDatabase shared, StateEncoder encoder) {
+        this.encoder = encoder;
+        this.costModel = shared.costModel;
+        this.pieces = shared.pieces;
+        this.stride = shared.stride;
+        this.table = shared.table;
+        this.maxDistance = shared.maxDistance;
+    }
+
+    public static PatternDatabase get(StateEncoder encoder, CostModel costModel) {
+        return encoder.layoutData(ENCODER_KEYS[costModel.ordinal()], e -> {
+            String key = e.layoutSignature() + "|" + costModel.name();
+            PatternDatabase shared;
+            synchronized (CACHE) {
+                shared = CACHE.get(key);
+            }
+            if (shared != null) return new PatternDatabase(shared, e);
+            // Dibangun di luar lock; layout yang dibangun bersamaan oleh dua thread cukup disimpan sekali
+            PatternDatabase built = new PatternDatabase(e, costModel, selectPieces(e));
+            synchronized (CACHE) {
+                CACHE.putIfAbsent(key, new PatternDatabase(built, null));
+            }
+            return built;
+        });
+    }
+
+    public int lookup(long state) {
+        int index = 0;
+        for (int k = 0; k < pieces.length; k++) {
+            index += encoder.position(state, pieces[k]) * stride[k];
+        }
+        return table[index] & 0xFF;
+    }
+
+    public int size() {
+        return table.length;
+    }
+
+    public int getPatternPieceCount() {
+        return pieces.length;
+    }
+
+    // Urutan pemilihan: bidak tegak lurus (lane-nya memotong lane bidak utama) dari yang paling
+    // dekat ke pintu keluar, lalu bidak sejajar di lane lain dari yang paling dekat ke lane bidak
+    // utama (bisa menghalangi penghalang). Berhenti saat ukuran tabel melewati MAX_ENTRIES.
+    private static int[] selectPieces(StateEncoder encoder) {
+        int p = encoder.primaryIndex;
+        boolean exitBefore = encoder.horizontal[p] ? encoder.exitCol == -1 : encoder.exitRow == -1;
+
+        List<Integer> crossing = new ArrayList<>();
+        List<Integer> parallel = new ArrayList<>();
+        for (int i = 0; i < encoder.pieceCount; i++) {
+            if (i == p) continue;
+            (encoder.horizontal[i] == encoder.horizontal[p] ? parallel : crossing).add(i);
+        }
+        crossing.sort((a, b) -> exitBefore
+                ? Integer.compare(encoder.lane[a], encoder.lane[b])
+                : Integer.compare(encoder.lane[b], encoder.lane[a]));
+        parallel.sort((a, b) -> Integer.compare(Math.abs(encoder.lane[a] - encoder.lane[p]),
+                Math.abs(encoder.lane[b] - encoder.lane[p])));
+        List<Integer> candidates = new ArrayList<>(crossing);
+        candidates.addAll(parallel);
+
+        List<Integer> chosen = new ArrayList<>();
+        chosen.add(p);
+        long entries = encoder.positionCount[p];
+        for (int i : candidates) {
+            if (chosen.size() > MAX_PATTERN_PIECES) break;
+            if (entries * encoder.positionCount[i] > MAX_ENTRIES) continue;
+            entries *= encoder.positionCount[i];
+            chosen.add(i);
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // BFS dari semua state abstrak tujuan. Geseran bisa dibalik, jadi BFS maju dari tujuan sama
+    // dengan BFS mundur. CELLS_MOVED memakai langkah satu sel, PIECE_MOVES geseran sejauh apa pun.
+    private void build() {
+        Arrays.fill(table, (byte) UNVISITED);
+        int[] queue = new int[table.length];
+        int head = 0, tail = 0;
+        int[] positions = new int[pieces.length];
+        boolean[] occupied = new boolean[encoder.rows * encoder.cols];
+
+        for (int index = 0; index < table.length; index++) {
+            decode(index, positions);
+            if (isGoal(positions) && fill(positions, occupied)) {
+                table[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+
+        int maxSlide = costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE;
+        int level = 0;
+        while (head < tail) {
+            int levelEnd = tail;
+            level++;
+            byte stored = (byte) Math.min(level, MAX_STORED);
+            while (head < levelEnd) {
+                int index = queue[head++];
+                decode(index, positions);
+                fill(positions, occupied);
+                for (int k = 0; k < pieces.length; k++) {
+                    int piece = pieces[k];
+                    int pos = positions[k];
+                    for (int d = 1; d <= maxSlide && pos - d >= 0 && isFree(occupied, piece, pos - d); d++) {
+                        tail = visit(index - d * stride[k], stored, queue, tail);
+                    }
+                    int last = pos + encoder.length[piece] - 1;
+                    for (int d = 1; d <= maxSlide && pos + d < encoder.positionCount[piece] && isFree(occupied, piece, last + d); d++) {
+                        tail = visit(index + d * stride[k], stored, queue, tail);
+                    }
+                }
+            }
+        }
+        maxDistance = level - 1; // level terakhir tidak menghasilkan state baru
+
+        // State abstrak yang tidak tercapai juga tidak bisa diselesaikan pada papan asli,
+        // nilainya bebas; dipakai jarak maksimum + 1 agar tetap di atas semua state yang solvable
+        byte unreachable = (byte) Math.min(maxDistance + 1, MAX_STORED);
+        for (int i = 0; i < table.length; i++) {
+            if ((table[i] & 0xFF) == UNVISITED) table[i] = unreachable;
+        }
+    }
+
+    private int visit(int index, byte distance, int[] queue, int tail) {
+        if ((table[index] & 0xFF) != UNVISITED) return tail;
+        table[index] = distance;
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    private void decode(int index, int[] positions) {
+        for (int k = 0; k < pieces.length; k++) {
+            positions[k] = index / stride[k];
+            index %= stride[k];
+        }
+    }
+
+    private boolean isGoal(int[] positions) {
+        int p = encoder.primaryIndex;
+        int pos = positions[0];
+        if (encoder.horizontal[p]) {
+            return encoder.exitCol == -1 ? pos == 0 : pos + encoder.length[p] == encoder.cols;
+        }
+        return encoder.exitRow == -1 ? pos == 0 : pos + encoder.length[p] == encoder.rows;
+    }
+
+    // Tandai sel yang ditempati bidak abstrak; false jika ada yang bertumpuk
+    private boolean fill(int[] positions, boolean[] occupied) {
+        Arrays.fill(occupied, false);
+        boolean valid = true;
+        for (int k = 0; k < pieces.length; k++) {
+            int piece = pieces[k];
+            for (int c = 0; c < encoder.length[piece]; c++) {
+                int cell = cellIndex(piece, positions[k] + c);
+                if (occupied[cell]) valid = false;
+                occupied[cell] = true;
+            }
+        }
+        return valid;
+    }
+
+    private boolean isFree(boolean[] occupied, int piece, int offset) {
+        return !occupied[cellIndex(piece, offset)];
+    }
+
+    private int cellIndex(int piece, int offset) {
+        return encoder.horizontal[piece]
+                ? encoder.lane[piece] * encoder.cols + offset
+                : offset * encoder.cols + encoder.lane[piece];
+    }
+}
@@ -0,0 +1,343 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+// Simplified Memory-bounded A* (SMA*): A* dengan batas jumlah node di memori. Jika batas
+// terlampaui, leaf terburuk (f terbesar, paling dangkal) dibuang dan f-nya disimpan di parent
+// sebagai f terlupa; parent kembali ke open list dengan nilai itu dan membangkitkan ulang
+// successor-nya jika nanti menjadi node terbaik. Dengan heuristik admissible solusinya tetap
+// optimal selama path optimal muat di memori. Jika tidak muat, pencarian berhenti dengan
+// BudgetExceededException (MEMORY), bukan OutOfMemoryError.
+// Successor yang state-nya sudah ada di memori dengan g lebih kecil atau sama tidak disimpan.
+public class SMAStar implements Solver {
+    private static final int BYTES_PER_NODE = 240;   // Node + entri di dua TreeSet + entri HashMap + f terlupa
+    private static final int MIN_NODES = 2;
+    private static final int INF = Integer.MAX_VALUE;
+
+    // Terbaik dulu: prioritas terkecil, lalu paling dalam
+    private static final Comparator<Node> BEST = (a, b) -> {
+        if (a.priority() != b.priority()) return Integer.compare(a.priority(), b.priority());
+        if (a.depth != b.depth) return Integer.compare(b.depth, a.depth);
+        return Long.compare(a.id, b.id);
+    };
+    // Terburuk dulu: prioritas terbesar, lalu paling dangkal
+    private static final Comparator<Node> WORST = (a, b) -> {
+        if (a.priority() != b.priority()) return Integer.compare(b.priority(), a.priority());
+        if (a.depth != b.depth) return Integer.compare(a.depth, b.depth);
+        return Long.compare(a.id, b.id);
+    };
+
+    private StateEncoder encoder;
+    private MoveGenerator moveGenerator;
+    private final CostModel costModel;
+    private final int heuristicType;
+    private final long memoryBytes;   // 0 = seperempat heap maksimum
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    // Per pencarian
+    private int maxNodes;
+    private TreeSet<Node> open;       // node yang belum diekspansi atau punya successor terlupa
+    private TreeSet<Node> leaves;     // node tanpa anak di memori (termasuk yang buntu), kandidat untuk dibuang
+    private Map<Long, Node> stored;   // node dengan g terkecil per state di memori
+    private int storedCount;
+    private int peakStored;
+    private long nextId;
+    private boolean depthLimited;     // ada successor yang dibuang karena path-nya tidak muat
+
+    public SMAStar(int heuristicType) {
+        this(heuristicType, CostModel.CELLS_MOVED);
+    }
+
+    public SMAStar(int heuristicType, CostModel costModel) {
+        this(heuristicType, costModel, 0);
+    }
+
+    public SMAStar(int heuristicType, CostModel costModel, long memoryBytes) {
+        this.heuristicType = heuristicType;
+        this.costModel = costModel;
+        this.memoryBytes = Math.max(0, memoryBytes);
+    }
+
+    public static SMAStar withNodeCap(int heuristicType, CostModel costModel, int nodes) {
+        return new SMAStar(heuristicType, costModel, (long) nodes * BYTES_PER_NODE);
+    }
+
+    private String getAlgorithmName() {
+        return "SMA* Search";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType) + " (mencari path list)");
+        Node solutionNode = search(start);
+        if (solutionNode == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        List<Board> boardPath = new ArrayList<>();
+        for (Node node = solutionNode; node != null; node = node.parent) {
+            boardPath.add(encoder.decode(node.key));
+        }
+        Collections.reverse(boardPath);
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName() + " dengan heuristik " + Heuristic.getName(heuristicType));
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    // Batas memori dari SearchLimits menjadi kapasitas node, bukan alasan untuk berhenti
+    private int nodeCapacity() {
+        long bytes = memoryBytes > 0 ? memoryBytes : Runtime.getRuntime().maxMemory() / 4;
+        if (limits.maxMemoryBytes > 0) {
+            bytes = Math.min(bytes, limits.maxMemoryBytes / 2); // sisanya untuk JVM dan garbage
+        }
+        return (int) Math.max(MIN_NODES, Math.min(Integer.MAX_VALUE - 1, bytes / BYTES_PER_NODE));
+    }
+
+    private Node search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = new SearchLimits(limits.timeoutMillis, limits.maxNodes, 0, limits.token).start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
+        maxNodes = nodeCapacity();
+        open = new TreeSet<>(BEST);
+        leaves = new TreeSet<>(WORST);
+        stored = new HashMap<>();
+        storedCount = 0;
+        peakStored = 0;
+        nextId = 0;
+        depthLimited = false;
+
+        long startKey = encoder.encode(start);
+        int h = Heuristic.calculate(encoder, startKey, heuristicType, costModel);
+        store(new Node(startKey, null, '\0', '\0', 0, 0, h, 0, -1, nextId++));
+        System.out.println("Batas memori: " + maxNodes + " node");
+
+        Node solutionNode = null;
+        while (!open.isEmpty()) {
+            Node best = open.first();
+            nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, open.size(), storedCount - open.size(), best.priority(), best.g);
+
+            if (!best.expanded && encoder.isGoal(best.key)) {
+                solutionNode = best;
+                break;
+            }
+            expand(best, recorder);
+        }
+
+        recorder.finish(nodesExpanded, open.size(), storedCount - open.size(), solutionNode == null ? -1 : solutionNode.f);
+        bytesPerState = BYTES_PER_NODE;
+        System.out.println("Node di memori: puncak " + peakStored + " dari batas " + maxNodes);
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state (perkiraan)");
+
+        if (solutionNode == null && depthLimited) {
+            throw new BudgetExceededException(BudgetExceededException.Reason.MEMORY, nodesExpanded,
+                    "Path solusi tidak muat dalam batas " + maxNodes + " node di memori");
+        }
+        if (solutionNode != null) {
+            lastSummarizedStepCount = countSummarizedSteps(solutionNode);
+        }
+        return solutionNode;
+    }
+
+    // Bangkitkan successor node yang belum ada di memori dan simpan mulai dari f terkecil. Jika
+    // memori penuh, leaf terburuk dibuang hanya jika f-nya lebih besar dari successor berikutnya
+    // (successor pertama selalu disimpan agar pencarian maju); sisanya menjadi f terlupa node.
+    // Successor yang dibangkitkan ulang memakai f yang dulu disimpan saat ia dibuang.
+    private void expand(Node node, SearchMetrics.Recorder recorder) {
+        open.remove(node);
+        if (node.children == 0) leaves.remove(node);
+        node.expanded = true;
+        node.forgottenF = INF;
+
+        long t = recorder.time();
+        List<Move> moves = moveGenerator.generate(node.key);
+        node.moveCount = moves.size();
+        t = recorder.lap(SearchMetrics.MOVES, t);
+        List<Node> successors = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int remembered = node.forgotten == null ? 0 : node.forgotten[i];
+            if (remembered == INF) continue; // successor buntu
+            Move move = moves.get(i);
+            int g = node.g + costModel.cost(move.distance);
+            Node existing = stored.get(move.key);
+            if (existing != null && existing.g <= g) continue;
+            t = recorder.lap(SearchMetrics.HASHING, t);
+            if (node.depth + 1 >= maxNodes - 1 && !encoder.isGoal(move.key)) {
+                depthLimited = true; // path ke successor ini sudah memenuhi seluruh memori
+                continue;
+            }
+            int h = Heuristic.calculate(encoder, node.key, node.h, move, heuristicType, costModel);
+            t = recorder.lap(SearchMetrics.HEURISTIC, t);
+            Node child = new Node(move.key, node, move.piece, move.direction, move.distance, g, h, node.depth + 1, i, nextId++);
+            child.f = Math.max(g + h, Math.max(node.f, remembered));
+            successors.add(child);
+        }
+        successors.sort(Comparator.comparingInt(child -> child.f));
+        for (Node child : successors) {
+            if (storedCount >= maxNodes) {
+                if (node.children > 0 && leaves.first().priority() <= child.f) {
+                    node.forgottenF = child.f;
+                    break;
+                }
+                prune();
+            }
+            if (node.forgotten != null) node.forgotten[child.moveIndex] = 0;
+            store(child);
+        }
+        recorder.lap(SearchMetrics.QUEUE, t);
+
+        if (node.forgottenF < INF) {
+            open.add(node);
+        }
+        if (node.children == 0) {
+            leaves.add(node); // buntu (prioritas INF): tetap disimpan seperti closed set A*, dibuang paling dulu
+        }
+    }
+
+    private void store(Node node) {
+        stored.put(node.key, node);
+        storedCount++;
+        peakStored = Math.max(peakStored, storedCount);
+        open.add(node);
+        leaves.add(node);
+        if (node.parent != null && node.parent.children++ == 0) {
+            leaves.remove(node.parent);
+        }
+    }
+
+    private void unstore(Node node) {
+        if (stored.get(node.key) == node) stored.remove(node.key);
+        storedCount--;
+        open.remove(node);
+        leaves.remove(node);
+    }
+
+    // Buang leaf terburuk; f-nya dicatat di parent per successor (INF = buntu, tidak dibangkitkan
+    // ulang) dan parent masuk open list lagi. Tanpa catatan per successor, successor yang
+    // dibangkitkan ulang mulai lagi dari f parent dan pencarian bisa berputar tanpa kemajuan.
+    private void prune() {
+        Node worst = leaves.first();
+        int backedUp = worst.priority();
+        unstore(worst);
+        Node parent = worst.parent;
+        if (parent.forgotten == null) parent.forgotten = new int[parent.moveCount];
+        parent.forgotten[worst.moveIndex] = backedUp;
+        if (backedUp < parent.forgottenF) {
+            open.remove(parent);
+            parent.forgottenF = backedUp;
+            open.add(parent);
+        }
+        if (--parent.children == 0) {
+            leaves.add(parent);
+        }
+    }
+
+    private int countSummarizedSteps(Node solutionNode) {
+        int steps = 0;
+        for (Node node = solutionNode; node != null && node.parent != null; node = node.parent) {
+            Node previous = node.parent;
+            if (previous.parent == null || previous.piece != node.piece || previous.direction != node.direction) {
+                steps++;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static class Node {
+        final long key;
+        final Node parent;
+        final char piece;
+        final char direction;
+        final int distance;
+        final int g;
+        final int h;
+        final int depth;
+        final int moveIndex;     // indeks langkah di daftar gerakan parent, -1 untuk root
+        final long id;           // urutan pembuatan, pemecah seri di TreeSet
+        int f;                   // batas bawah biaya solusi lewat node ini (pathmax)
+        int forgottenF = INF;    // f terkecil dari successor yang dibuang
+        int[] forgotten;         // f successor yang dibuang per indeks langkah, 0 = tidak ada
+        int moveCount;
+        int children;            // successor yang masih di memori
+        boolean expanded;
+
+        Node(long key, Node parent, char piece, char direction, int distance, int g, int h, int depth, int moveIndex, long id) {
+            this.key = key;
+            this.parent = parent;
+            this.piece = piece;
+            this.direction = direction;
+            this.distance = distance;
+            this.g = g;
+            this.h = h;
+            this.depth = depth;
+            this.moveIndex = moveIndex;
+            this.id = id;
+            this.f = g + h;
+        }
+
+        // Node belum diekspansi dipilih berdasarkan f, node yang sudah berdasarkan f terlupa
+        int priority() {
+            return expanded ? forgottenF : f;
+        }
+    }
+}
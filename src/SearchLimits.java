@@ -0,0 +1,98 @@
+import java.util.function.LongSupplier;
+
+// Batas satu pencarian: waktu (wall-clock), jumlah node, memori pencarian itu sendiri, dan token
+// pembatalan. Nilai 0 berarti tanpa batas. Setiap solver memanggil start() di awal pencarian,
+// mendaftarkan perkiraan memori struktur datanya lewat Budget.meterMemory(), lalu memanggil
+// Budget.check() di loop ekspansinya; batas yang terlampaui dilempar sebagai
+// BudgetExceededException berisi jumlah node yang sudah diekspansi. Memori diukur per pencarian,
+// bukan heap JVM, agar puzzle lain dalam batch dan garbage yang belum dikoleksi tidak terhitung.
+public class SearchLimits {
+    public static final SearchLimits NONE = new SearchLimits(0, 0, 0, null);
+    private static final int CHECK_MASK = 0x3FF; // jam dan memori dicek tiap 1024 node
+    // Perkiraan satu node open list/path (header objek, key, parent, g/h, langkah)
+    public static final int NODE_BYTES = 48;
+
+    public final long timeoutMillis;
+    public final long maxNodes;
+    public final long maxMemoryBytes;
+    public final CancellationToken token;   // null = hanya interupsi thread
+
+    public SearchLimits(long timeoutMillis, long maxNodes, long maxMemoryBytes, CancellationToken token) {
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        this.maxNodes = Math.max(0, maxNodes);
+        this.maxMemoryBytes = Math.max(0, maxMemoryBytes);
+        this.token = token;
+    }
+
+    public Budget start() {
+        return new Budget(this);
+    }
+
+    // Batas yang sedang berjalan; deadline dihitung dari start(). Aman dipanggil dari banyak thread.
+    public static class Budget {
+        private final SearchLimits limits;
+        private final long deadline;
+        private volatile LongSupplier memory;   // null = belum ada struktur yang diukur
+
+        private Budget(SearchLimits limits) {
+            this.limits = limits;
+            this.deadline = limits.timeoutMillis > 0 ? System.nanoTime() + limits.timeoutMillis * 1_000_000 : 0;
+        }
+
+        // Sisa batas untuk solver cadangan yang dijalankan di tengah pencarian (waktu tidak direset)
+        public SearchLimits remaining() {
+            long timeout = deadline == 0 ? 0 : Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+            return new SearchLimits(timeout, limits.maxNodes, limits.maxMemoryBytes, limits.token);
+        }
+
+        // Byte yang dipakai struktur data pencarian ini (tabel state, open list, path), dibaca
+        // setiap kali batas memori dicek. Solver cadangan memasang meter-nya sendiri.
+        public void meterMemory(LongSupplier bytes) {
+            this.memory = bytes;
+        }
+
+        // Dipanggil sekali per node; jam dan memori hanya dibaca tiap 1024 node
+        public void check(long nodes) {
+            checkCancelled(nodes);
+            if (limits.maxNodes > 0 && nodes > limits.maxNodes) {
+                throw new BudgetExceededException(BudgetExceededException.Reason.NODES, nodes,
+                        "Batas " + limits.maxNodes + " node tercapai");
+            }
+            if ((nodes & CHECK_MASK) == 0) {
+                checkClockAndMemory(nodes);
+            }
+        }
+
+        // Semua batas sekaligus, untuk pemanggil yang mengecek per batch (solver paralel)
+        public void checkNow(long nodes) {
+            checkCancelled(nodes);
+            if (limits.maxNodes > 0 && nodes > limits.maxNodes) {
+                throw new BudgetExceededException(BudgetExceededException.Reason.NODES, nodes,
+                        "Batas " + limits.maxNodes + " node tercapai");
+            }
+            checkClockAndMemory(nodes);
+        }
+
+        private void checkCancelled(long nodes) {
+            if ((limits.token != null && limits.token.isCancelled()) || Thread.currentThread().isInterrupted()) {
+                throw new BudgetExceededException(BudgetExceededException.Reason.CANCELLED, nodes,
+                        "Pencarian dihentikan setelah " + nodes + " node");
+            }
+        }
+
+        private void checkClockAndMemory(long nodes) {
+            if (deadline != 0 && System.nanoTime() - deadline > 0) {
+                throw new BudgetExceededException(BudgetExceededException.Reason.DEADLINE, nodes,
+                        "Batas waktu " + limits.timeoutMillis + " ms habis setelah " + nodes + " node");
+            }
+            LongSupplier meter = memory;
+            if (limits.maxMemoryBytes > 0 && meter != null) {
+                long used = meter.getAsLong();
+                if (used > limits.maxMemoryBytes) {
+                    throw new BudgetExceededException(BudgetExceededException.Reason.MEMORY, nodes,
+                            "Batas memori " + (limits.maxMemoryBytes >> 20) + " MB terlampaui setelah " + nodes + " node");
+                }
+            }
+        }
+    }
+}
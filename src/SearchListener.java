@@ -0,0 +1,8 @@
+// Penerima metrik langsung dari solver (lihat SearchMetrics). onSample dipanggil paling sering
+// sekali per interval selama pencarian berjalan, onFinish sekali saat pencarian selesai.
+// Solver paralel bisa memanggilnya dari thread worker, jadi implementasi harus thread-safe.
+public interface SearchListener {
+    void onSample(SearchMetrics.Snapshot snapshot);
+
+    void onFinish(SearchMetrics.Snapshot snapshot);
+}
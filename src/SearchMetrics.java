@@ -0,0 +1,180 @@
+import java.util.Arrays;
+
+// Metrik langsung satu pencarian: listener, interval sampling, dan label (mis. nama puzzle).
+// Pemakaiannya sama dengan SearchLimits: solver memanggil start() di awal pencarian,
+// Recorder.sample() di loop ekspansinya, dan Recorder.finish() setelah selesai. Tanpa listener
+// (NONE) setiap pemanggilan langsung kembali dan fase tidak diukur, jadi solver tidak melambat.
+public class SearchMetrics {
+    public static final SearchMetrics NONE = new SearchMetrics(null, 0, "");
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    private static final int SAMPLE_MASK = 0xFF; // jam dibaca tiap 256 node
+
+    // Fase yang waktunya diukur lewat Recorder.lap()
+    public static final int MOVES = 0;       // MoveGenerator
+    public static final int HASHING = 1;     // closed set, tabel g, transposition table
+    public static final int HEURISTIC = 2;
+    public static final int QUEUE = 3;       // open list
+    public static final int PHASES = 4;
+
+    public final SearchListener listener;   // null = metrik mati
+    public final long intervalMillis;
+    public final String label;
+
+    public SearchMetrics(SearchListener listener, long intervalMillis, String label) {
+        this.listener = listener;
+        this.intervalMillis = intervalMillis > 0 ? intervalMillis : DEFAULT_INTERVAL_MILLIS;
+        this.label = label == null ? "" : label;
+    }
+
+    public Recorder start(String algorithm) {
+        return new Recorder(this, algorithm);
+    }
+
+    // Satu sampel; nilai -1 berarti tidak relevan untuk algoritma itu (mis. open list di IDA*)
+    public static class Snapshot {
+        public final String label;
+        public final String algorithm;
+        public final long elapsedMillis;
+        public final long nodes;
+        public final double nodesPerSecond;   // sejak sampel sebelumnya; rata-rata untuk onFinish
+        public final long openSize;
+        public final long closedSize;
+        public final int f;                   // f-bound IDA*, f/g/h terbaik di open list
+        public final int maxDepth;            // g terbesar yang diekspansi (kedalaman untuk IDA*/BFS)
+        public final long heapBytes;
+        public final double bytesPerNode;     // pertambahan heap sejak awal / (open + closed), -1 jika keduanya tidak ada
+        public final long[] phaseNanos;       // indeks MOVES, HASHING, HEURISTIC, QUEUE
+        public final boolean finished;
+
+        Snapshot(String label, String algorithm, long elapsedMillis, long nodes, double nodesPerSecond,
+                 long openSize, long closedSize, int f, int maxDepth, long heapBytes, long heapGrowth, long[] phaseNanos,
+                 boolean finished) {
+            this.label = label;
+            this.algorithm = algorithm;
+            this.elapsedMillis = elapsedMillis;
+            this.nodes = nodes;
+            this.nodesPerSecond = nodesPerSecond;
+            this.openSize = openSize;
+            this.closedSize = closedSize;
+            this.f = f;
+            this.maxDepth = maxDepth;
+            this.heapBytes = heapBytes;
+            long stored = Math.max(0, openSize) + Math.max(0, closedSize);
+            this.bytesPerNode = stored == 0 ? -1 : Math.max(0, heapGrowth) / (double) stored;
+            this.phaseNanos = phaseNanos;
+            this.finished = finished;
+        }
+
+        public long phaseMillis(int phase) {
+            return phaseNanos[phase] / 1_000_000;
+        }
+
+        // Porsi fase dari total waktu yang diukur, 0 jika fase tidak diukur sama sekali
+        public double phaseShare(int phase) {
+            long total = 0;
+            for (long nanos : phaseNanos) {
+                total += nanos;
+            }
+            return total == 0 ? 0 : phaseNanos[phase] / (double) total;
+        }
+    }
+
+    // Metrik yang sedang berjalan. sample() dan lap(phase, since) hanya untuk thread pencarian;
+    // thread worker solver paralel mencatat fase di array sendiri lewat lap(local, phase, since),
+    // lalu memakai addPhases() dan sampleNow() yang aman dari banyak thread.
+    public static class Recorder {
+        private final SearchMetrics metrics;
+        private final String algorithm;
+        private final boolean enabled;
+        private final long startNanos;
+        private final long startHeap;
+        private final long intervalNanos;
+        private final long[] phaseNanos = new long[PHASES];
+        private long lastSampleNanos;
+        private long lastSampleNodes;
+        private int maxDepth = -1;
+
+        private Recorder(SearchMetrics metrics, String algorithm) {
+            this.metrics = metrics;
+            this.algorithm = algorithm;
+            this.enabled = metrics.listener != null;
+            this.startNanos = System.nanoTime();
+            this.startHeap = enabled ? usedHeap() : 0;
+            this.intervalNanos = metrics.intervalMillis * 1_000_000;
+            this.lastSampleNanos = startNanos;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        // Titik awal untuk lap(), 0 jika metrik mati
+        public long time() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        // Tambahkan waktu sejak `since` ke fase; hasilnya titik awal fase berikutnya
+        public long lap(int phase, long since) {
+            if (!enabled) return 0;
+            long now = System.nanoTime();
+            phaseNanos[phase] += now - since;
+            return now;
+        }
+
+        // lap() untuk thread worker: waktu masuk ke array milik worker itu
+        public long lap(long[] local, int phase, long since) {
+            if (!enabled) return 0;
+            long now = System.nanoTime();
+            local[phase] += now - since;
+            return now;
+        }
+
+        // Gabungkan waktu fase dari thread worker; nanos dikosongkan setelahnya
+        public synchronized void addPhases(long[] nanos) {
+            if (!enabled) return;
+            for (int i = 0; i < PHASES; i++) {
+                phaseNanos[i] += nanos[i];
+            }
+            Arrays.fill(nanos, 0);
+        }
+
+        // Dipanggil sekali per node; jam hanya dibaca tiap 256 node
+        public void sample(long nodes, long open, long closed, int f, int depth) {
+            if (!enabled) return;
+            if (depth > maxDepth) maxDepth = depth;
+            if ((nodes & SAMPLE_MASK) == 0) {
+                sampleNow(nodes, open, closed, f, depth);
+            }
+        }
+
+        // Tanpa mask, untuk pemanggil yang melapor per batch (solver paralel)
+        public synchronized void sampleNow(long nodes, long open, long closed, int f, int depth) {
+            if (!enabled) return;
+            if (depth > maxDepth) maxDepth = depth;
+            long now = System.nanoTime();
+            if (now - lastSampleNanos < intervalNanos) return;
+            metrics.listener.onSample(snapshot(now, nodes, open, closed, f, false));
+        }
+
+        public synchronized void finish(long nodes, long open, long closed, int f) {
+            if (!enabled) return;
+            metrics.listener.onFinish(snapshot(System.nanoTime(), nodes, open, closed, f, true));
+        }
+
+        private Snapshot snapshot(long now, long nodes, long open, long closed, int f, boolean finished) {
+            long since = finished ? startNanos : lastSampleNanos;
+            long sinceNodes = finished ? 0 : lastSampleNodes;
+            double rate = now > since ? (nodes - sinceNodes) * 1e9 / (now - since) : 0;
+            lastSampleNanos = now;
+            lastSampleNodes = nodes;
+            long heap = usedHeap();
+            return new Snapshot(metrics.label, algorithm, (now - startNanos) / 1_000_000, nodes, rate, open, closed, f,
+                    maxDepth, heap, heap - startHeap, phaseNanos.clone(), finished);
+        }
+
+        private static long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Pemeriksaan regresi BitBoard: jangkauan geser dari bitmask dibandingkan dengan pemindaian
+// grid char sel per sel (cara lama) untuk setiap bidak di state-state yang bisa dicapai dari
+// setiap puzzle input, dan daftar Move dari MoveGenerator dibandingkan dengan daftar yang
+// dibangun dari pemindaian itu. Kode keluar 1 jika ada perbedaan.
+// Jalankan: java -cp bin SlideRangeCheck [folder input] [state per puzzle]
+public class SlideRangeCheck {
+    private static final int MAX_REPORTED = 20;
+
+    private static int mismatches = 0;
+
+    public static void main(String[] args) {
+        String inputDir = args.length > 0 ? args[0] : "test/input";
+        int maxStates = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        File[] files = new File(inputDir).listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) {
+            System.out.println("Folder input tidak ditemukan: " + inputDir);
+            System.exit(2);
+        }
+        Arrays.sort(files);
+
+        long totalStates = 0;
+        for (File file : files) {
+            Board board;
+            try {
+                board = new Board(file);
+            } catch (Exception e) {
+                System.out.println("Dilewati (input tidak valid): " + file.getName());
+                continue;
+            }
+            int before = mismatches;
+            int states = check(board, maxStates);
+            totalStates += states;
+            System.out.println(file.getName() + ": " + states + " state, " + (mismatches - before) + " perbedaan");
+        }
+
+        System.out.println();
+        System.out.println("Total: " + totalStates + " state diperiksa, " + mismatches + " perbedaan");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    // BFS dari papan awal sampai maxStates state; setiap state diperiksa sebelum successor-nya dipakai
+    private static int check(Board start, int maxStates) {
+        StateEncoder encoder = new StateEncoder(start);
+        MoveGenerator macro = new MoveGenerator(encoder);
+        MoveGenerator single = new MoveGenerator(encoder, 1);
+        LongHashSet seen = new LongHashSet();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        long startKey = encoder.encode(start);
+        seen.add(startKey);
+        queue.add(startKey);
+
+        int checked = 0;
+        while (!queue.isEmpty() && checked < maxStates) {
+            long state = queue.poll();
+            checked++;
+            Board board = encoder.decode(state);
+            BitBoard occupancy = new BitBoard(board);
+            int[] positions = encoder.positions(state);
+
+            List<Move> expected = new ArrayList<>();
+            List<Move> expectedSingle = new ArrayList<>();
+            for (int i = 0; i < encoder.pieceCount; i++) {
+                boolean horizontal = encoder.horizontal[i];
+                int lane = encoder.lane[i];
+                int head = positions[i];
+                int tail = head + encoder.length[i] - 1;
+                int back = scan(board, lane, head, -1, horizontal);
+                int forward = scan(board, lane, tail, 1, horizontal);
+
+                int bitBack = horizontal ? occupancy.freeBefore(lane, head, true) : occupancy.freeBefore(head, lane, false);
+                int bitForward = horizontal ? occupancy.freeAfter(lane, tail, true) : occupancy.freeAfter(tail, lane, false);
+                if (bitBack != back || bitForward != forward) {
+                    report(board, "bidak " + encoder.names[i] + ": grid " + back + "/" + forward + ", bitboard " + bitBack + "/" + bitForward);
+                }
+
+                for (int d = 1; d <= back; d++) {
+                    Move move = referenceMove(encoder, positions, i, horizontal ? 'L' : 'U', d, head - d);
+                    expected.add(move);
+                    if (d == 1) expectedSingle.add(move);
+                }
+                for (int d = 1; d <= forward; d++) {
+                    Move move = referenceMove(encoder, positions, i, horizontal ? 'R' : 'D', d, head + d);
+                    expected.add(move);
+                    if (d == 1) expectedSingle.add(move);
+                }
+            }
+
+            List<Move> generated = macro.generate(state);
+            compare(encoder, board, "geseran makro", expected, generated);
+            compare(encoder, board, "satu sel", expectedSingle, single.generate(state));
+
+            for (Move move : generated) {
+                if (seen.add(move.key)) queue.add(move.key);
+            }
+        }
+        return checked;
+    }
+
+    // Sel kosong berturut-turut dari ujung bidak ke arah step, dibaca langsung dari grid
+    private static int scan(Board board, int lane, int from, int step, boolean horizontal) {
+        int free = 0;
+        int limit = horizontal ? board.cols : board.rows;
+        for (int p = from + step; p >= 0 && p < limit; p += step) {
+            char cell = horizontal ? board.grid[lane][p] : board.grid[p][lane];
+            if (cell != '.') break;
+            free++;
+        }
+        return free;
+    }
+
+    private static Move referenceMove(StateEncoder encoder, int[] positions, int piece, char dir, int distance, int newPosition) {
+        int[] next = positions.clone();
+        next[piece] = newPosition;
+        return new Move(piece, encoder.names[piece], dir, distance, encoder.encode(next));
+    }
+
+    private static void compare(StateEncoder encoder, Board board, String mode, List<Move> expected, List<Move> actual) {
+        boolean same = expected.size() == actual.size();
+        for (int i = 0; same && i < expected.size(); i++) {
+            Move e = expected.get(i);
+            Move a = actual.get(i);
+            same = e.piece == a.piece && e.direction == a.direction && e.distance == a.distance
+                    && Arrays.equals(encoder.positions(e.key), encoder.positions(a.key));
+        }
+        if (!same) {
+            report(board, mode + ": diharapkan " + describe(expected) + ", didapat " + describe(actual));
+        }
+    }
+
+    private static String describe(List<Move> moves) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Move move : moves) {
+            if (sb.length() > 1) sb.append(' ');
+            sb.append(move.piece).append(move.direction).append(move.distance);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void report(Board board, String message) {
+        mismatches++;
+        if (mismatches > MAX_REPORTED) return;
+        System.out.println("  Berbeda: " + message);
+        for (int r = 0; r < board.rows; r++) {
+            System.out.println("    " + new String(board.grid[r]));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache solusi dua tingkat: LRU di memori di depan file append-only di disk.
+// Key = bentuk kanonik papan (Symmetry.Canonical) + konfigurasi solver, jadi file puzzle yang
+// sama, papan yang sama di GUI, cerminnya, atau papan dengan nama bidak lain memakai solusi yang
+// sudah ada tanpa mencari ulang. Path disimpan sebagai posisi bidak kanonik per langkah, bukan Board.
+// Satu baris per entri: key \t node \t langkah ringkas \t byte/state \t path
+// Secara default hanya tingkat memori yang aktif (GUI, menu, batch); file di disk hanya dipakai
+// jika diaktifkan lewat configure (flag --cache <folder>).
+public class SolutionCache {
+    private static final String FILE_NAME = "solusi.cache";
+    private static final int DEFAULT_CAPACITY = 256;
+    // Naikkan jika format baris, encoding path, atau hasil solver berubah, agar entri dari
+    // versi lama tidak pernah cocok lagi
+    private static final int VERSION = 2;
+
+    private static SolutionCache shared = new SolutionCache(null, DEFAULT_CAPACITY);
+
+    private final File file;
+    private final Map<String, Entry> memory;
+    private Map<String, Long> diskIndex;   // key -> offset baris di file, dibaca saat pertama dipakai
+    private boolean truncatedTail;         // baris terakhir file tidak diakhiri '\n' (tulisan terpotong)
+    private int memoryHits, diskHits, misses, evictions;
+
+    public static class Entry {
+        public final int[][] path;       // kosong jika tidak ada solusi
+        public final int nodesExplored;
+        public final int summarizedSteps;
+        public final double bytesPerState;
+
+        public Entry(int[][] path, int nodesExplored, int summarizedSteps, double bytesPerState) {
+            this.path = path;
+            this.nodesExplored = nodesExplored;
+            this.summarizedSteps = summarizedSteps;
+            this.bytesPerState = bytesPerState;
+        }
+    }
+
+    // directory null = hanya tingkat memori
+    public SolutionCache(File directory, int capacity) {
+        this.file = directory == null ? null : new File(directory, FILE_NAME);
+        this.memory = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    // Cache yang dipakai SolverFactory, null jika dimatikan
+    public static synchronized SolutionCache shared() {
+        return shared;
+    }
+
+    public static synchronized void configure(SolutionCache cache) {
+        shared = cache;
+    }
+
+    // boardKey dari Symmetry.Canonical, jadi papan cermin dan papan dengan nama bidak lain
+    // berbagi satu entri
+    public static String key(String boardKey, String solverConfig) {
+        return "v" + VERSION + ' ' + boardKey + ' ' + solverConfig;
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = memory.get(key);
+        if (entry != null) {
+            memoryHits++;
+            return entry;
+        }
+        entry = readFromDisk(key);
+        if (entry != null) {
+            diskHits++;
+            memory.put(key, entry);
+            return entry;
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        memory.put(key, entry);
+        if (file == null || loadIndex().containsKey(key)) return;
+        try {
+            File directory = file.getParentFile();
+            if (directory != null && !directory.exists()) {
+                directory.mkdirs();
+            }
+            long offset = file.length();
+            String line = format(key, entry);
+            if (truncatedTail) { // tutup baris terpotong agar entri baru mulai di baris sendiri
+                line = '\n' + line;
+                offset++;
+                truncatedTail = false;
+            }
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+            }
+            diskIndex.put(key, offset);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis cache solusi: " + e.getMessage());
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        if (file == null) return null;
+        Long offset = loadIndex().get(key);
+        if (offset == null) return null;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.skipNBytes(offset);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            if (!readLine(in, line)) throw new IOException("baris terpotong");
+            return parse(line.toString(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            // Baris rusak dianggap miss dan dikeluarkan dari indeks, jadi put berikutnya
+            // menambahkan entri pengganti di akhir file
+            diskIndex.remove(key);
+            return null;
+        }
+    }
+
+    private Map<String, Long> loadIndex() {
+        if (diskIndex != null) return diskIndex;
+        diskIndex = new HashMap<>();
+        truncatedTail = false;
+        if (file == null || !file.exists()) return diskIndex;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            long offset = 0;
+            while (true) {
+                boolean complete = readLine(in, buffer);
+                if (!complete) {
+                    // Baris terakhir tanpa '\n' adalah tulisan yang terpotong, diabaikan
+                    truncatedTail = buffer.size() > 0;
+                    break;
+                }
+                String line = buffer.toString(StandardCharsets.UTF_8);
+                int tab = line.indexOf('\t');
+                // Entri yang muncul belakangan menang
+                if (tab > 0 && line.split("\t", -1).length == 5) {
+                    diskIndex.put(line.substring(0, tab), offset);
+                }
+                offset += buffer.size() + 1;
+            }
+        } catch (IOException e) {
+            System.err.println("Gagal membaca cache solusi: " + e.getMessage());
+        }
+        return diskIndex;
+    }
+
+    // Satu baris ke out (tanpa '\n'); false jika file habis sebelum '\n'
+    private static boolean readLine(InputStream in, ByteArrayOutputStream out) throws IOException {
+        out.reset();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') return true;
+            out.write(b);
+        }
+        return false;
+    }
+
+    private static String format(String key, Entry entry) {
+        StringBuilder sb = new StringBuilder(key).append('\t')
+                .append(entry.nodesExplored).append('\t')
+                .append(entry.summarizedSteps).append('\t')
+                .append(entry.bytesPerState).append('\t');
+        for (int i = 0; i < entry.path.length; i++) {
+            if (i > 0) sb.append(';');
+            for (int j = 0; j < entry.path[i].length; j++) {
+                if (j > 0) sb.append(',');
+                sb.append(entry.path[i][j]);
+            }
+        }
+        return sb.append('\n').toString();
+    }
+
+    private static Entry parse(String line) {
+        String[] fields = line.split("\t", -1);
+        String[] steps = fields[4].isEmpty() ? new String[0] : fields[4].split(";");
+        int[][] path = new int[steps.length][];
+        for (int i = 0; i < steps.length; i++) {
+            String[] positions = steps[i].split(",");
+            path[i] = new int[positions.length];
+            for (int j = 0; j < positions.length; j++) {
+                path[i][j] = Integer.parseInt(positions[j]);
+            }
+        }
+        return new Entry(path, Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Double.parseDouble(fields[3]));
+    }
+
+    public synchronized int getMemoryHits() {
+        return memoryHits;
+    }
+
+    public synchronized int getDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized int getHits() {
+        return memoryHits + diskHits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    public synchronized int getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return memory.size();
+    }
+}
@@ -0,0 +1,8 @@
+import java.util.List;
+
+// Penerima solusi sementara dari solver anytime (ARAStar). onSolution dipanggil dari thread
+// pencarian setiap kali path membaik atau batas suboptimalnya mengetat: biaya path paling
+// banyak bound kali biaya optimal, bound 1.0 berarti sudah terbukti optimal.
+public interface SolutionListener {
+    void onSolution(List<Board> path, int cost, double bound, int nodesExplored);
+}
@@ -7,5 +7,24 @@ public interface Solver {
 
     int getLastSummarizedStepCount();
     int getNodesExplored();
-    
+    double getBytesPerState();
+
+    // Batas waktu/node/memori/pembatalan untuk pencarian berikutnya; pencarian yang melewati
+    // batas melempar BudgetExceededException
+    void setLimits(SearchLimits limits);
+
+    // Listener metrik langsung (node/detik, ukuran open/closed, waktu per fase) untuk
+    // pencarian berikutnya; SearchMetrics.NONE mematikannya
+    void setMetrics(SearchMetrics metrics);
+
+    // Penerima solusi sementara; hanya solver anytime (ARAStar) yang memanggilnya
+    default void setSolutionListener(SolutionListener listener) {
+    }
+
+    // false jika pencarian terakhir berhenti tanpa solusi sebelum seluruh ruang pencarian
+    // dijelajah (misalnya batas f-cost IDA*), jadi "tidak ada solusi"-nya belum pasti
+    default boolean isComplete() {
+        return true;
+    }
+
 }
\ No newline at end of file
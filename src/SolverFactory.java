@@ -0,0 +1,126 @@
+// Satu tempat untuk membuat Solver dari nama algoritma. Setiap pemanggilan menghasilkan
+// instance baru karena Solver menyimpan state per pencarian (node, statistik).
+public class SolverFactory {
+    public static final String GBFS = "gbfs";
+    public static final String UCS = "ucs";
+    public static final String ASTAR = "astar";
+    public static final String IDASTAR = "idastar";
+    public static final String BIDIRECTIONAL = "bidirectional";
+    public static final String HDASTAR = "hdastar";
+    public static final String PARALLEL_IDASTAR = "pidastar";
+    public static final String PARALLEL_BFS = "pbfs";
+    public static final String STATE_SPACE = "table";
+    public static final String SMASTAR = "sma";
+    public static final String EXTERNAL_BFS = "ebfs";
+    public static final String ARASTAR = "ara";
+
+    public static final String[] ALGORITHMS = {GBFS, UCS, ASTAR, IDASTAR, BIDIRECTIONAL, HDASTAR, PARALLEL_IDASTAR, PARALLEL_BFS, STATE_SPACE, SMASTAR, EXTERNAL_BFS, ARASTAR};
+
+    // Thread per solver paralel. Default semua core (GUI, menu: satu pencarian sekaligus);
+    // CommandLine memberi 1 jika batch sudah menjalankan beberapa puzzle bersamaan.
+    private static int solverThreads = Runtime.getRuntime().availableProcessors();
+
+    public static synchronized void configureThreads(int threads) {
+        solverThreads = Math.max(1, threads);
+    }
+
+    public static synchronized int getSolverThreads() {
+        return solverThreads;
+    }
+
+    public static Solver create(String algorithm, int heuristicType, CostModel costModel) {
+        return create(algorithm, heuristicType, costModel, OpenList.Type.HEAP);
+    }
+
+    // queueType hanya dipakai UCS dan A*, algoritma lain mengabaikannya.
+    // Jika SolutionCache.shared() aktif, solver dibungkus CachingSolver, kecuali ARA* yang
+    // hasilnya bergantung pada kapan pencarian dihentikan.
+    public static Solver create(String algorithm, int heuristicType, CostModel costModel, OpenList.Type queueType) {
+        Solver solver = createUncached(algorithm, heuristicType, costModel, queueType);
+        SolutionCache cache = SolutionCache.shared();
+        if (cache == null || ARASTAR.equalsIgnoreCase(algorithm)) return solver;
+        return new CachingSolver(solver, cache, cacheConfig(algorithm, heuristicType, costModel, queueType));
+    }
+
+    // Hanya opsi yang benar-benar dipakai algoritma yang masuk key, agar UCS dengan heuristik
+    // berbeda tetap memakai entri yang sama
+    private static String cacheConfig(String algorithm, int heuristicType, CostModel costModel, OpenList.Type queueType) {
+        String alg = algorithm.toLowerCase();
+        return alg
+                + "|" + (usesHeuristic(alg) ? Heuristic.getName(heuristicType) : "-")
+                + "|" + (usesCostModel(alg) ? costModel.name() : "-")
+                + "|" + (UCS.equals(alg) || ASTAR.equals(alg) ? queueType.name() : "-");
+    }
+
+    public static Solver createUncached(String algorithm, int heuristicType, CostModel costModel, OpenList.Type queueType) {
+        switch (algorithm.toLowerCase()) {
+            case GBFS:
+                return new GBFS(heuristicType);
+            case UCS:
+                return new UCS(costModel, queueType);
+            case ASTAR:
+                return new AStar(heuristicType, costModel, queueType);
+            case IDASTAR:
+                return new IDAStar(heuristicType, costModel);
+            case BIDIRECTIONAL:
+                return new BidirectionalSearch(costModel);
+            case HDASTAR:
+                return new ParallelAStar(heuristicType, costModel, getSolverThreads());
+            case PARALLEL_IDASTAR:
+                return new ParallelIDAStar(heuristicType, costModel, getSolverThreads());
+            case PARALLEL_BFS:
+                return new ParallelBFS(costModel, getSolverThreads());
+            case STATE_SPACE:
+                return new StateSpaceSolver(costModel);
+            case SMASTAR:
+                return new SMAStar(heuristicType, costModel);
+            case EXTERNAL_BFS:
+                return new ExternalBFS(costModel);
+            case ARASTAR:
+                return new ARAStar(heuristicType, costModel);
+            default:
+                throw new IllegalArgumentException("Algoritma tidak dikenal: " + algorithm);
+        }
+    }
+
+    public static String getAlgorithmName(String algorithm) {
+        switch (algorithm.toLowerCase()) {
+            case GBFS:
+                return "Greedy Best First Search (GBFS)";
+            case UCS:
+                return "Uniform Cost Search (UCS)";
+            case ASTAR:
+                return "A* Search";
+            case IDASTAR:
+                return "IDA* Search";
+            case BIDIRECTIONAL:
+                return "Bidirectional Search";
+            case HDASTAR:
+                return "Hash Distributed A* (HDA*)";
+            case PARALLEL_IDASTAR:
+                return "Parallel IDA* Search";
+            case PARALLEL_BFS:
+                return "Parallel BFS";
+            case STATE_SPACE:
+                return "Tabel Jarak (State Space)";
+            case SMASTAR:
+                return "SMA* (Memori Terbatas)";
+            case EXTERNAL_BFS:
+                return "External BFS (Memory-Mapped)";
+            case ARASTAR:
+                return "ARA* (Anytime)";
+            default:
+                throw new IllegalArgumentException("Algoritma tidak dikenal: " + algorithm);
+        }
+    }
+
+    public static boolean usesHeuristic(String algorithm) {
+        return !UCS.equalsIgnoreCase(algorithm) && !BIDIRECTIONAL.equalsIgnoreCase(algorithm)
+                && !PARALLEL_BFS.equalsIgnoreCase(algorithm) && !STATE_SPACE.equalsIgnoreCase(algorithm)
+                && !EXTERNAL_BFS.equalsIgnoreCase(algorithm);
+    }
+
+    public static boolean usesCostModel(String algorithm) {
+        return !GBFS.equalsIgnoreCase(algorithm);
+    }
+}
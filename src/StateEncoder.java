@@ -0,0 +1,350 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+public class StateEncoder {
+    public final int rows, cols;
+    public final int exitRow, exitCol;
+    public final int pieceCount;
+    public final int primaryIndex;
+
+    // Layout tetap per bidak, urutannya sama dengan board.pieces
+    public final char[] names;
+    public final boolean[] horizontal;
+    public final int[] lane;          // baris (horizontal) atau kolom (vertikal) yang tidak pernah berubah
+    public final int[] length;
+    public final int[] positionCount; // banyaknya offset sah di sepanjang lane
+
+    private final int[] word;
+    private final int[] shift;
+    private final long[] mask;
+    private final int wordCount;
+
+    // Papan besar (> 64 bit): long[] di-intern menjadi id long
+    private final WideTable wide;
+
+    // Data turunan layout (mis. pattern database) yang cukup dibangun sekali per encoder
+    private final Map<String, Object> layoutData = new ConcurrentHashMap<>();
+    private final String signature;
+
+    public StateEncoder(Board board) {
+        this.rows = board.rows;
+        this.cols = board.cols;
+        this.exitRow = board.exitRow;
+        this.exitCol = board.exitCol;
+        this.pieceCount = board.pieces.size();
+
+        names = new char[pieceCount];
+        horizontal = new boolean[pieceCount];
+        lane = new int[pieceCount];
+        length = new int[pieceCount];
+        positionCount = new int[pieceCount];
+        word = new int[pieceCount];
+        shift = new int[pieceCount];
+        mask = new long[pieceCount];
+
+        int primary = -1;
+        int currentWord = 0;
+        int usedBits = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            Piece piece = board.pieces.get(i);
+            names[i] = piece.name;
+            horizontal[i] = piece.getOrientation() == PieceOrientation.HORIZONTAL;
+            int[] first = piece.cells.get(0);
+            lane[i] = horizontal[i] ? first[0] : first[1];
+            length[i] = piece.cells.size();
+            positionCount[i] = (horizontal[i] ? cols : rows) - length[i] + 1;
+
+            int bits = 32 - Integer.numberOfLeadingZeros(Math.max(positionCount[i] - 1, 0));
+            if (usedBits + bits > 64) { // field tidak boleh terpotong di dua word
+                currentWord++;
+                usedBits = 0;
+            }
+            word[i] = currentWord;
+            shift[i] = usedBits;
+            mask[i] = bits == 0 ? 0L : (-1L >>> (64 - bits));
+            usedBits += bits;
+
+            if (piece.name == 'P') primary = i;
+        }
+        this.primaryIndex = primary;
+        this.wordCount = currentWord + 1;
+
+        StringBuilder sb = new StringBuilder(rows + "x" + cols + "@" + exitRow + "," + exitCol);
+        for (int i = 0; i < pieceCount; i++) {
+            sb.append(';').append(names[i]).append(horizontal[i] ? 'H' : 'V').append(lane[i]).append('/').append(length[i]);
+        }
+        this.signature = sb.toString();
+
+        this.wide = wordCount > 1 ? new WideTable(wordCount) : null;
+    }
+
+    // Tujuan tercapai jika ujung bidak utama menempel ke tepi tempat pintu keluar
+    public boolean isGoal(long state) {
+        return isGoalPosition(position(state, primaryIndex));
+    }
+
+    public boolean isGoal(long[] words, int offset) {
+        return isGoalPosition((int) ((words[offset + word[primaryIndex]] >>> shift[primaryIndex]) & mask[primaryIndex]));
+    }
+
+    private boolean isGoalPosition(int pos) {
+        if (horizontal[primaryIndex]) {
+            return exitCol == -1 ? pos == 0 : pos + length[primaryIndex] == cols;
+        }
+        return exitRow == -1 ? pos == 0 : pos + length[primaryIndex] == rows;
+    }
+
+    // Indeks bidak yang menempati sel (row, col), atau -1 jika kosong
+    public int occupant(int[] positions, int row, int col) {
+        for (int i = 0; i < pieceCount; i++) {
+            int along = horizontal[i] ? col : row;
+            int across = horizontal[i] ? row : col;
+            if (across == lane[i] && along >= positions[i] && along < positions[i] + length[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Ukuran papan, pintu keluar, dan lane/panjang tiap bidak: sama untuk semua state dari layout ini
+    public String layoutSignature() {
+        return signature;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T layoutData(String key, Function<StateEncoder, T> factory) {
+        Object value = layoutData.get(key);
+        if (value == null) {
+            value = layoutData.computeIfAbsent(key, k -> factory.apply(this));
+        }
+        return (T) value;
+    }
+
+    public boolean isWide() {
+        return wordCount > 1;
+    }
+
+    public long encode(Board board) {
+        int[] positions = new int[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            int[] first = board.pieces.get(i).cells.get(0);
+            positions[i] = horizontal[i] ? first[1] : first[0];
+        }
+        return encode(positions);
+    }
+
+    public long encode(int[] positions) {
+        if (!isWide()) {
+            long state = 0L;
+            for (int i = 0; i < pieceCount; i++) {
+                state |= (long) positions[i] << shift[i];
+            }
+            return state;
+        }
+        long[] words = new long[wordCount];
+        for (int i = 0; i < pieceCount; i++) {
+            words[word[i]] |= (long) positions[i] << shift[i];
+        }
+        return wide.intern(words);
+    }
+
+    // Letak field posisi bidak di state long (papan <= 64 bit), untuk transformasi bit langsung
+    public int shift(int piece) {
+        return shift[piece];
+    }
+
+    public long mask(int piece) {
+        return mask[piece];
+    }
+
+    public int position(long state, int piece) {
+        if (isWide()) {
+            state = wide.word(state, word[piece]);
+        }
+        return (int) ((state >>> shift[piece]) & mask[piece]);
+    }
+
+    public void positions(long state, int[] out) {
+        if (!isWide()) {
+            for (int i = 0; i < pieceCount; i++) {
+                out[i] = (int) ((state >>> shift[i]) & mask[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < pieceCount; i++) {
+            out[i] = (int) ((wide.word(state, word[i]) >>> shift[i]) & mask[i]);
+        }
+    }
+
+    public int[] positions(long state) {
+        int[] out = new int[pieceCount];
+        positions(state, out);
+        return out;
+    }
+
+    public long withPosition(long state, int piece, int pos) {
+        if (!isWide()) {
+            return (state & ~(mask[piece] << shift[piece])) | ((long) pos << shift[piece]);
+        }
+        long[] words = new long[wordCount];
+        wide.copy(state, words);
+        int w = word[piece];
+        words[w] = (words[w] & ~(mask[piece] << shift[piece])) | ((long) pos << shift[piece]);
+        return wide.intern(words);
+    }
+
+    // State sebagai word mentah tanpa intern, wordCount() long per state mulai dari offset. Dipakai
+    // ExternalBFS yang menyimpan state di file; papan <= 64 bit punya satu word yang sama dengan state long.
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public void pack(int[] positions, long[] out, int offset) {
+        Arrays.fill(out, offset, offset + wordCount, 0L);
+        for (int i = 0; i < pieceCount; i++) {
+            out[offset + word[i]] |= (long) positions[i] << shift[i];
+        }
+    }
+
+    public void unpack(long[] words, int offset, int[] out) {
+        for (int i = 0; i < pieceCount; i++) {
+            out[i] = (int) ((words[offset + word[i]] >>> shift[i]) & mask[i]);
+        }
+    }
+
+    public void setPosition(long[] words, int offset, int piece, int pos) {
+        int w = offset + word[piece];
+        words[w] = (words[w] & ~(mask[piece] << shift[piece])) | ((long) pos << shift[piece]);
+    }
+
+    // Bangun ulang Board penuh, hanya dipakai saat path perlu ditampilkan
+    public Board decode(long state) {
+        Board board = new Board(rows, cols, exitRow, exitCol);
+        int[] positions = positions(state);
+        for (int i = 0; i < pieceCount; i++) {
+            Piece piece = new Piece(names[i]);
+            for (int k = 0; k < length[i]; k++) {
+                int r = horizontal[i] ? lane[i] : positions[i] + k;
+                int c = horizontal[i] ? positions[i] + k : lane[i];
+                piece.addCell(r, c);
+                board.grid[r][c] = names[i];
+            }
+            piece.setOrientation(horizontal[i] ? PieceOrientation.HORIZONTAL : PieceOrientation.VERTICAL);
+            board.pieces.add(piece);
+            if (i == primaryIndex) {
+                board.primaryPiece = piece;
+            }
+        }
+        return board;
+    }
+
+    // Setiap state disimpan sekali di arena long[] per potongan, id = indeks di arena. Id dicari
+    // lewat tabel hash open addressing berisi id + 1; words selalu ditulis ke arena sebelum id
+    // dipublikasikan ke tabel (tulis volatile), jadi lookup dan pembacaan words tanpa lock.
+    // Hanya penambahan state baru yang memakai lock.
+    private static final class WideTable {
+        private static final int CHUNK_BITS = 14;
+        private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+        private final int wordCount;
+        private volatile long[][] chunks = new long[16][];
+        private volatile AtomicIntegerArray slots = new AtomicIntegerArray(1 << 12);
+        private int size; // dijaga lock
+
+        WideTable(int wordCount) {
+            this.wordCount = wordCount;
+        }
+
+        long word(long id, int w) {
+            return chunks[(int) (id >>> CHUNK_BITS)][(int) (id & CHUNK_MASK) * wordCount + w];
+        }
+
+        void copy(long id, long[] out) {
+            long[] chunk = chunks[(int) (id >>> CHUNK_BITS)];
+            System.arraycopy(chunk, (int) (id & CHUNK_MASK) * wordCount, out, 0, wordCount);
+        }
+
+        long intern(long[] words) {
+            int hash = hash(words);
+            AtomicIntegerArray table = slots;
+            int found = find(table, words, hash);
+            if (found > 0) return found - 1;
+            synchronized (this) {
+                table = slots;
+                int mask = table.length() - 1;
+                int i = hash & mask;
+                for (int v; (v = table.get(i)) != 0; i = (i + 1) & mask) {
+                    if (matches(v - 1, words)) return v - 1;
+                }
+                int id = size++;
+                store(id, words);
+                table.set(i, id + 1);
+                if (size * 2 > table.length()) {
+                    slots = rehash(table);
+                }
+                return id;
+            }
+        }
+
+        private int find(AtomicIntegerArray table, long[] words, int hash) {
+            int mask = table.length() - 1;
+            for (int i = hash & mask, v; (v = table.get(i)) != 0; i = (i + 1) & mask) {
+                if (matches(v - 1, words)) return v;
+            }
+            return 0;
+        }
+
+        private boolean matches(int id, long[] words) {
+            long[] chunk = chunks[id >>> CHUNK_BITS];
+            int base = (id & CHUNK_MASK) * wordCount;
+            for (int w = 0; w < wordCount; w++) {
+                if (chunk[base + w] != words[w]) return false;
+            }
+            return true;
+        }
+
+        private void store(int id, long[] words) {
+            long[][] current = chunks;
+            int c = id >>> CHUNK_BITS;
+            if (c >= current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            if (current[c] == null) {
+                current[c] = new long[(CHUNK_MASK + 1) * wordCount];
+            }
+            System.arraycopy(words, 0, current[c], (id & CHUNK_MASK) * wordCount, wordCount);
+            chunks = current;
+        }
+
+        // Tabel lama tetap sah untuk pembaca yang masih memegangnya: isinya subset tabel baru
+        private AtomicIntegerArray rehash(AtomicIntegerArray table) {
+            AtomicIntegerArray grown = new AtomicIntegerArray(table.length() * 2);
+            int mask = grown.length() - 1;
+            for (int i = 0; i < table.length(); i++) {
+                int v = table.get(i);
+                if (v == 0) continue;
+                int j = hash(v - 1) & mask;
+                while (grown.get(j) != 0) j = (j + 1) & mask;
+                grown.set(j, v);
+            }
+            return grown;
+        }
+
+        private int hash(int id) {
+            long[] words = new long[wordCount];
+            copy(id, words);
+            return hash(words);
+        }
+
+        private static int hash(long[] words) {
+            long h = 0;
+            for (long w : words) {
+                h = (h + w) * 0x9E3779B97F4A7C15L;
+            }
+            return (int) (h ^ (h >>> 29));
+        }
+    }
+}
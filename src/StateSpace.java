@@ -0,0 +1,230 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// Seluruh state yang bisa dicapai dari satu papan beserta jarak tepat setiap state ke tujuan.
+// Dibangun dengan BFS maju (enumerasi komponen) lalu BFS mundur dari semua state tujuan di
+// komponen itu; geseran bisa dibalik, jadi BFS dari tujuan memberi jarak ke tujuan.
+// Langkah berbiaya seragam: geseran satu sel untuk CELLS_MOVED, geseran makro untuk PIECE_MOVES.
+// Solusi optimal dari state mana pun di komponen = turun ke tetangga dengan jarak satu lebih kecil.
+public class StateSpace {
+    public static final int UNSOLVABLE = -1;
+    private static final int MAX_CACHED = 8;
+    private static final int BYTES_PER_STATE_ESTIMATE = 40;   // indeks hash + long[] + short[] + antrean
+    private static final double HEAP_SHARE = 0.6;             // bagian heap untuk semua tabel: cache + yang sedang dibangun
+    private static final long MIN_RESERVATION = 4L << 20;
+    private static final int MAX_STATES = 1 << 26;
+
+    // Papan yang dijalankan ulang (GUI, hint, benchmark) memakai tabel yang sama. Hanya untuk
+    // encoder <= 64 bit: state papan besar adalah id intern milik satu encoder.
+    private static final List<StateSpace> CACHE = new ArrayList<>();
+    // Byte yang sedang dipegang build yang belum selesai (semua thread), dijaga lock CACHE
+    private static long reservedBytes;
+
+    private final StateEncoder encoder;
+    private final CostModel costModel;
+    private final String signature;
+    private final LongIntHashMap index = new LongIntHashMap();
+    private long[] states = new long[1024];
+    private short[] distance;
+    private int size;
+    private int goalCount;
+    private int maxDistance = UNSOLVABLE;
+    private long buildMillis;
+    private long reservation;   // bagian HEAP_SHARE yang dipegang build ini
+
+    private StateSpace(StateEncoder encoder, CostModel costModel) {
+        this.encoder = encoder;
+        this.costModel = costModel;
+        this.signature = encoder.layoutSignature();
+    }
+
+    // Tabel di cache yang memuat state awal, atau null
+    public static StateSpace find(StateEncoder encoder, CostModel costModel, long start) {
+        if (encoder.isWide()) return null;
+        synchronized (CACHE) {
+            for (Iterator<StateSpace> it = CACHE.iterator(); it.hasNext(); ) {
+                StateSpace space = it.next();
+                if (space.costModel == costModel && space.signature.equals(encoder.layoutSignature())
+                        && space.index.containsKey(start)) {
+                    it.remove();
+                    CACHE.add(space); // paling baru dipakai di akhir
+                    return space;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Enumerasi komponen state awal lalu simpan di cache; null jika ruang state melebihi memori
+    // (atau jarak melebihi kapasitas short)
+    public static StateSpace build(StateEncoder encoder, CostModel costModel, long start, SearchLimits.Budget budget,
+                                   SearchMetrics.Recorder recorder) {
+        StateSpace space = new StateSpace(encoder, costModel);
+        boolean built;
+        try {
+            built = space.build(start, budget, recorder);
+        } finally {
+            space.release();
+        }
+        if (!built) {
+            return null;
+        }
+        if (!encoder.isWide()) {
+            synchronized (CACHE) {
+                CACHE.add(space);
+                if (CACHE.size() > MAX_CACHED) CACHE.remove(0);
+            }
+        }
+        return space;
+    }
+
+    // Tambah bagian heap untuk build ini (dua kali lipat yang sudah dipegang) dari HEAP_SHARE
+    // dikurangi tabel di cache dan build lain yang sedang berjalan, agar enumerasi tidak berakhir
+    // OutOfMemoryError. Tabel di cache yang paling lama tidak dipakai dilepas lebih dulu daripada
+    // menggagalkan build. false jika tidak ada lagi yang tersisa (pemanggil beralih ke UCS).
+    private boolean grow() {
+        synchronized (CACHE) {
+            long share = (long) (Runtime.getRuntime().maxMemory() * HEAP_SHARE);
+            long wanted = Math.max(MIN_RESERVATION, reservation);
+            while (!CACHE.isEmpty() && share - reservedBytes - cachedBytes() < wanted) {
+                CACHE.remove(0);
+            }
+            long granted = Math.min(wanted, share - reservedBytes - cachedBytes());
+            if (granted <= 0) return false;
+            reservation += granted;
+            reservedBytes += granted;
+            return true;
+        }
+    }
+
+    // Tabel yang selesai dihitung lewat cachedBytes() jika masuk cache
+    private void release() {
+        synchronized (CACHE) {
+            reservedBytes -= reservation;
+            reservation = 0;
+        }
+    }
+
+    private static long cachedBytes() {
+        long bytes = 0;
+        for (StateSpace space : CACHE) {
+            bytes += space.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private int stateLimit() {
+        return (int) Math.min(reservation / BYTES_PER_STATE_ESTIMATE, MAX_STATES);
+    }
+
+    // Setiap state yang diproses (di BFS maju maupun mundur) dihitung sebagai node untuk budget
+    // dan metrik; kedalaman hanya diketahui di BFS mundur (jarak ke tujuan)
+    private boolean build(long start, SearchLimits.Budget budget, SearchMetrics.Recorder recorder) {
+        long startTime = System.currentTimeMillis();
+        int limit = 0;
+        MoveGenerator moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+        budget.meterMemory(this::memoryBytes);
+
+        index.put(start, 0);
+        states[size++] = start;
+        for (int i = 0; i < size; i++) {
+            budget.check(i);
+            recorder.sample(i, size - i, size, -1, -1);
+            long t = recorder.time();
+            List<Move> moves = moveGenerator.generate(states[i]);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                if (index.containsKey(move.key)) continue;
+                if (size >= limit) {
+                    if (!grow()) return false;
+                    limit = stateLimit();
+                    if (size >= limit) return false; // sudah MAX_STATES
+                }
+                if (size == states.length) states = Arrays.copyOf(states, size * 2);
+                index.put(move.key, size);
+                states[size++] = move.key;
+            }
+            recorder.lap(SearchMetrics.HASHING, t);
+        }
+        states = Arrays.copyOf(states, size);
+
+        distance = new short[size];
+        Arrays.fill(distance, (short) UNSOLVABLE);
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (encoder.isGoal(states[i])) {
+                distance[i] = 0;
+                queue[tail++] = i;
+            }
+        }
+        goalCount = tail;
+        while (head < tail) {
+            int current = queue[head++];
+            budget.check((long) size + head);
+            recorder.sample((long) size + head, tail - head, size, -1, distance[current]);
+            int next = distance[current] + 1;
+            if (next > Short.MAX_VALUE) return false;
+            long t = recorder.time();
+            List<Move> moves = moveGenerator.generate(states[current]);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                int j = index.get(move.key, -1);
+                if (distance[j] == UNSOLVABLE) {
+                    distance[j] = (short) next;
+                    queue[tail++] = j;
+                }
+            }
+            recorder.lap(SearchMetrics.HASHING, t);
+        }
+        maxDistance = tail == 0 ? UNSOLVABLE : distance[queue[tail - 1]];
+        buildMillis = System.currentTimeMillis() - startTime;
+        return true;
+    }
+
+    // Jarak tepat ke tujuan, UNSOLVABLE jika state tidak terhubung ke tujuan atau bukan anggota
+    public int distance(long state) {
+        int i = index.get(state, -1);
+        return i < 0 ? UNSOLVABLE : distance[i];
+    }
+
+    // Path optimal dari state ke tujuan (termasuk keduanya), null jika tidak ada solusi
+    public long[] walk(long state) {
+        int d = distance(state);
+        if (d == UNSOLVABLE) return null;
+        MoveGenerator moveGenerator = new MoveGenerator(encoder, costModel == CostModel.CELLS_MOVED ? 1 : Integer.MAX_VALUE);
+        long[] path = new long[d + 1];
+        path[0] = state;
+        for (int step = 1; step <= d; step++) {
+            for (Move move : moveGenerator.generate(path[step - 1])) {
+                if (distance(move.key) == d - step) {
+                    path[step] = move.key;
+                    break;
+                }
+            }
+        }
+        return path;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getGoalCount() {
+        return goalCount;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    public long memoryBytes() {
+        return index.memoryBytes() + states.length * (long) Long.BYTES + (distance == null ? 0 : distance.length * (long) Short.BYTES);
+    }
+}
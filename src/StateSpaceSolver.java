@@ -0,0 +1,165 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+// Solver di atas StateSpace: run pertama mengenumerasi seluruh ruang state dan menghitung jarak
+// ke tujuan, run berikutnya untuk papan dari komponen yang sama hanya berjalan turun di tabel.
+// Jika ruang state tidak muat di memori, jatuh kembali ke UCS.
+public class StateSpaceSolver implements Solver {
+    private StateEncoder encoder;
+    private final CostModel costModel;
+    public int nodesExpanded = 0;
+    public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
+
+    public StateSpaceSolver() {
+        this(CostModel.CELLS_MOVED);
+    }
+
+    public StateSpaceSolver(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    private String getAlgorithmName() {
+        return "Tabel Jarak (State Space)";
+    }
+
+    private void ensureTestDirectoryExists() {
+        File directory = new File("test");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    @Override
+    public void solve(Board start) {
+        System.out.println(getAlgorithmName());
+        if (search(start) == null) {
+            reportNoSolution();
+        }
+    }
+
+    @Override
+    public List<Board> solveAndReturnPath(Board start) {
+        System.out.println(getAlgorithmName() + " (mencari path list)");
+        long[] statePath = search(start);
+        if (statePath == null) {
+            reportNoSolution();
+            return new ArrayList<>();
+        }
+        List<Board> boardPath = new ArrayList<>();
+        for (long state : statePath) {
+            boardPath.add(encoder.decode(state));
+        }
+        return boardPath;
+    }
+
+    private void reportNoSolution() {
+        System.out.println("Tidak ditemukan solusi!");
+        ensureTestDirectoryExists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter("test/output/output.txt", false))) {
+            writer.println(getAlgorithmName());
+            writer.println("Tidak ditemukan solusi!");
+            writer.println("Node yang dieksplorasi: " + nodesExpanded);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis ke file output.txt (solusi tidak ditemukan): " + e.getMessage());
+        }
+    }
+
+    private long[] search(Board start) {
+        nodesExpanded = 0;
+        lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        long startKey = encoder.encode(start);
+
+        StateSpace space = StateSpace.find(encoder, costModel, startKey);
+        boolean built = space == null;
+        if (built) {
+            space = StateSpace.build(encoder, costModel, startKey, budget, recorder);
+        }
+        if (space == null) {
+            System.out.println("Ruang state terlalu besar untuk memori, beralih ke UCS");
+            return fallback(start, budget.remaining());
+        }
+        bytesPerState = space.memoryBytes() / (double) Math.max(1, space.size());
+        System.out.println((built ? "Enumerasi " : "Memakai tabel yang sudah ada: ") + space.size() + " state, "
+                + space.getGoalCount() + " state tujuan, jarak maksimum " + space.getMaxDistance()
+                + (built ? ", dibangun dalam " + space.getBuildMillis() + " ms" : ""));
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state ("
+                + String.format("%.1f", space.memoryBytes() / (1024.0 * 1024.0)) + " MB)");
+
+        long[] path = space.walk(startKey);
+        nodesExpanded = built ? space.size() : (path == null ? 1 : path.length);
+        recorder.finish(nodesExpanded, 0, space.size(), -1);
+        if (path != null) {
+            lastSummarizedStepCount = countSummarizedSteps(path);
+        }
+        return path;
+    }
+
+    private long[] fallback(Board start, SearchLimits remaining) {
+        UCS ucs = new UCS(costModel);
+        ucs.setLimits(remaining);
+        ucs.setMetrics(metrics);
+        List<Board> boards = ucs.solveAndReturnPath(start);
+        nodesExpanded = ucs.getNodesExplored();
+        bytesPerState = ucs.getBytesPerState();
+        lastSummarizedStepCount = ucs.getLastSummarizedStepCount();
+        if (boards.isEmpty()) return null;
+        long[] path = new long[boards.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = encoder.encode(boards.get(i));
+        }
+        return path;
+    }
+
+    // Langkah ringkas: geseran berurutan dari bidak dan arah yang sama dihitung satu
+    private int countSummarizedSteps(long[] path) {
+        int steps = 0;
+        int lastPiece = -1;
+        int lastSign = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (int piece = 0; piece < encoder.pieceCount; piece++) {
+                int delta = encoder.position(path[i], piece) - encoder.position(path[i - 1], piece);
+                if (delta == 0) continue;
+                int sign = Integer.signum(delta);
+                if (piece != lastPiece || sign != lastSign) steps++;
+                lastPiece = piece;
+                lastSign = sign;
+                break;
+            }
+        }
+        return steps;
+    }
+
+    @Override
+    public int getLastSummarizedStepCount() {
+        return lastSummarizedStepCount;
+    }
+
+    @Override
+    public int getNodesExplored() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
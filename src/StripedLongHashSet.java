@@ -0,0 +1,56 @@
+// LongHashSet yang aman dipakai banyak thread: key dibagi ke beberapa stripe berdasarkan bit
+// atas hash, dan setiap stripe dikunci sendiri. Thread yang menyentuh stripe berbeda tidak
+// saling menunggu.
+public class StripedLongHashSet {
+    private final LongHashSet[] stripes;
+    private final int shift;
+
+    public StripedLongHashSet(int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(2, stripeCount) - 1) << 1;
+        stripes = new LongHashSet[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new LongHashSet();
+        }
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    // true jika key baru ditambahkan
+    public boolean add(long key) {
+        LongHashSet stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.add(key);
+        }
+    }
+
+    public boolean contains(long key) {
+        LongHashSet stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.contains(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                bytes += stripe.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // Bit atas hash untuk stripe; bit bawah dipakai slot di dalam LongHashSet
+    private LongHashSet stripeOf(long key) {
+        return stripes[LongIntHashMap.mix(key) >>> shift];
+    }
+}
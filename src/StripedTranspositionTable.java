@@ -0,0 +1,65 @@
+// TranspositionTable yang aman dipakai banyak thread (ParallelIDAStar): key dibagi ke beberapa
+// stripe berdasarkan bit atas hash, setiap stripe tabel sendiri dengan lock sendiri. Pengecekan
+// dan pencatatan state dilakukan dalam satu lock agar tidak ada thread lain yang menyela di antaranya.
+public class StripedTranspositionTable {
+    private final TranspositionTable[] stripes;
+    private final int shift;
+
+    public StripedTranspositionTable(int stripeCount, int capacity) {
+        int count = Integer.highestOneBit(Math.max(2, stripeCount) - 1) << 1;
+        stripes = new TranspositionTable[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new TranspositionTable(Math.max(2, capacity / count));
+        }
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    // Dipanggil saat state mulai dijelajah dengan g dan batas ini. Mengembalikan UNKNOWN jika
+    // subtree perlu dijelajah (state sudah dicatat), Integer.MAX_VALUE jika state pernah dicapai
+    // dengan g lebih kecil, atau hasil subtree yang sudah selesai dengan g dan batas yang sama.
+    public int enter(long key, int g, int bound) {
+        TranspositionTable stripe = stripeOf(key);
+        synchronized (stripe) {
+            int slot = stripe.probe(key);
+            if (slot >= 0) {
+                if (stripe.g(slot) < g) return Integer.MAX_VALUE;
+                if (stripe.g(slot) == g && stripe.bound(slot) == bound && stripe.result(slot) != TranspositionTable.UNKNOWN) {
+                    return stripe.result(slot);
+                }
+            }
+            stripe.store(key, g, bound);
+            return TranspositionTable.UNKNOWN;
+        }
+    }
+
+    // Simpan hasil subtree jika entri state ini belum ditimpa state atau g lain
+    public void complete(long key, int g, int result) {
+        TranspositionTable stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.complete(stripe.probe(key), key, g, result);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (TranspositionTable stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (TranspositionTable stripe : stripes) {
+            bytes += stripe.memoryBytes();
+        }
+        return bytes;
+    }
+
+    // Bit atas hash untuk stripe; bit bawah dipakai slot di dalam TranspositionTable
+    private TranspositionTable stripeOf(long key) {
+        return stripes[LongIntHashMap.mix(key) >>> shift];
+    }
+}
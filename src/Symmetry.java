@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Simetri papan. Cermin kiri-kanan/atas-bawah (pintu keluar ikut dicerminkan) dan penggantian
+// nama bidak tidak mengubah struktur puzzle, jadi solusinya bisa dipetakan bolak-balik.
+//  - Canonical: bentuk kanonik satu papan untuk key cache (cermin + nama bidak dinormalisasi).
+//  - Instance Symmetry: cermin yang memetakan papan ke dirinya sendiri (pintu keluar di garis
+//    tengah). State dan cerminnya punya jarak ke tujuan yang sama, jadi closed set cukup
+//    menyimpan salah satunya lewat canonical(state). canonical dipanggil untuk setiap successor,
+//    jadi cermin dihitung langsung pada bit state tanpa alokasi. Papan lebar (> 64 bit) tidak
+//    memakai simetri diri: cerminnya harus di-intern dan akan memenuhi tabel state lebar.
+public class Symmetry {
+    private static final int FLIP_ROWS = 1;
+    private static final int FLIP_COLS = 2;
+
+    private final StateEncoder encoder;
+    private final int transform;   // 0 = tidak ada simetri diri
+    private final int[] image;     // bidak i menempati lane bidak image[i] di state cermin
+    private final boolean[] flip;  // posisi bidak i dibalik sepanjang lane-nya
+    // Transformasi bit per bidak yang berpindah atau dibalik; bidak lain tetap di tempat (keep)
+    private final int[] fromShift;
+    private final int[] toShift;
+    private final long[] fieldMask;
+    private final int[] extent;    // -1 jika tidak dibalik, selain itu posisi maksimum
+    private final long keep;
+
+    private Symmetry(StateEncoder encoder, int transform, int[] image, boolean[] flip) {
+        this.encoder = encoder;
+        this.transform = transform;
+        this.image = image;
+        this.flip = flip;
+
+        int count = 0;
+        long kept = 0;
+        for (int i = 0; transform != 0 && i < encoder.pieceCount; i++) {
+            if (image[i] == i && !flip[i]) kept |= encoder.mask(i) << encoder.shift(i);
+            else count++;
+        }
+        fromShift = new int[count];
+        toShift = new int[count];
+        fieldMask = new long[count];
+        extent = new int[count];
+        keep = kept;
+        count = 0;
+        for (int i = 0; transform != 0 && i < encoder.pieceCount; i++) {
+            if (image[i] == i && !flip[i]) continue;
+            fromShift[count] = encoder.shift(i);
+            toShift[count] = encoder.shift(image[i]);
+            fieldMask[count] = encoder.mask(i);
+            extent[count] = flip[i] ? encoder.positionCount[i] - 1 : -1;
+            count++;
+        }
+    }
+
+    // Cermin yang memetakan layout encoder ke dirinya sendiri; start dipakai untuk urutan bidak
+    // dalam satu lane (urutan itu tidak pernah berubah karena bidak tidak bisa saling melewati)
+    public static Symmetry of(StateEncoder encoder, long start) {
+        if (encoder.isWide()) return new Symmetry(encoder, 0, null, null);
+        for (int t = FLIP_ROWS; t <= (FLIP_ROWS | FLIP_COLS); t++) {
+            if (reflect(encoder.exitRow, encoder.rows, t & FLIP_ROWS) != encoder.exitRow
+                    || reflect(encoder.exitCol, encoder.cols, t & FLIP_COLS) != encoder.exitCol) {
+                continue;
+            }
+            int[] image = matchLanes(encoder, start, t);
+            if (image != null) {
+                boolean[] flip = new boolean[encoder.pieceCount];
+                for (int i = 0; i < encoder.pieceCount; i++) {
+                    flip[i] = flipsAlongLane(encoder.horizontal[i], t);
+                }
+                return new Symmetry(encoder, t, image, flip);
+            }
+        }
+        return new Symmetry(encoder, 0, null, null);
+    }
+
+    public boolean isSymmetric() {
+        return transform != 0;
+    }
+
+    public String getName() {
+        switch (transform) {
+            case FLIP_ROWS:
+                return "cermin atas-bawah";
+            case FLIP_COLS:
+                return "cermin kiri-kanan";
+            case FLIP_ROWS | FLIP_COLS:
+                return "rotasi 180 derajat";
+            default:
+                return "tidak ada";
+        }
+    }
+
+    public long mirror(long state) {
+        long mirrored = state & keep;
+        for (int k = 0; k < fromShift.length; k++) {
+            long position = (state >>> fromShift[k]) & fieldMask[k];
+            if (extent[k] >= 0) position = extent[k] - position;
+            mirrored |= position << toShift[k];
+        }
+        return mirrored;
+    }
+
+    // Wakil pasangan {state, cermin}; state sendiri jika papan tidak simetris
+    public long canonical(long state) {
+        if (transform == 0) return state;
+        return Math.min(state, mirror(state));
+    }
+
+    private static int reflect(int index, int size, int flipped) {
+        return flipped != 0 ? size - 1 - index : index;
+    }
+
+    private static boolean flipsAlongLane(boolean horizontal, int t) {
+        return (t & (horizontal ? FLIP_COLS : FLIP_ROWS)) != 0;
+    }
+
+    // Pasangkan bidak tiap lane dengan bidak di lane cerminnya (urutan terbalik jika lane ikut
+    // dibalik); null jika ada lane yang panjang bidaknya tidak cocok
+    private static int[] matchLanes(StateEncoder encoder, long start, int t) {
+        Map<Integer, List<Integer>> lanes = new HashMap<>();
+        int[] positions = encoder.positions(start);
+        for (int i = 0; i < encoder.pieceCount; i++) {
+            lanes.computeIfAbsent(laneId(encoder, i, encoder.lane[i]), k -> new ArrayList<>()).add(i);
+        }
+        for (List<Integer> pieces : lanes.values()) {
+            pieces.sort((a, b) -> Integer.compare(positions[a], positions[b]));
+        }
+
+        int[] image = new int[encoder.pieceCount];
+        for (List<Integer> pieces : lanes.values()) {
+            int first = pieces.get(0);
+            boolean horizontal = encoder.horizontal[first];
+            int mirroredLane = reflect(encoder.lane[first], horizontal ? encoder.rows : encoder.cols, t & (horizontal ? FLIP_ROWS : FLIP_COLS));
+            List<Integer> targets = lanes.get(laneId(encoder, first, mirroredLane));
+            if (targets == null || targets.size() != pieces.size()) return null;
+            boolean reversed = flipsAlongLane(horizontal, t);
+            for (int k = 0; k < pieces.size(); k++) {
+                int piece = pieces.get(k);
+                int target = targets.get(reversed ? targets.size() - 1 - k : k);
+                if (encoder.length[piece] != encoder.length[target]) return null;
+                image[piece] = target;
+            }
+        }
+        if (image[encoder.primaryIndex] != encoder.primaryIndex) return null;
+        return image;
+    }
+
+    private static int laneId(StateEncoder encoder, int piece, int lane) {
+        return encoder.horizontal[piece] ? lane : -1 - lane;
+    }
+
+    // Bentuk kanonik sebuah papan: dari keempat cermin, grid dengan nama bidak dinormalisasi
+    // (urutan kemunculan, P tetap P) yang terkecil secara leksikografis. Posisi bidak dipetakan
+    // ke urutan bidak kanonik dan sebaliknya, sehingga solusi papan cermin atau papan dengan
+    // nama bidak lain bisa dipakai ulang.
+    public static class Canonical {
+        public final String key;
+        private final int[] target;      // bidak i pada papan asli = bidak kanonik target[i]
+        private final boolean[] flip;
+        private final int[] extent;      // posisi maksimum bidak i
+
+        private Canonical(String key, int[] target, boolean[] flip, int[] extent) {
+            this.key = key;
+            this.target = target;
+            this.flip = flip;
+            this.extent = extent;
+        }
+
+        public static Canonical of(StateEncoder encoder, long start) {
+            int[] positions = encoder.positions(start);
+            String bestKey = null;
+            int bestTransform = 0;
+            int[] bestTarget = null;
+            for (int t = 0; t <= (FLIP_ROWS | FLIP_COLS); t++) {
+                // Grid hasil cermin, berisi indeks bidak (-1 kosong)
+                int[][] grid = new int[encoder.rows][encoder.cols];
+                for (int[] row : grid) {
+                    Arrays.fill(row, -1);
+                }
+                for (int i = 0; i < encoder.pieceCount; i++) {
+                    for (int k = 0; k < encoder.length[i]; k++) {
+                        int r = encoder.horizontal[i] ? encoder.lane[i] : positions[i] + k;
+                        int c = encoder.horizontal[i] ? positions[i] + k : encoder.lane[i];
+                        grid[reflect(r, encoder.rows, t & FLIP_ROWS)][reflect(c, encoder.cols, t & FLIP_COLS)] = i;
+                    }
+                }
+
+                int[] target = new int[encoder.pieceCount];
+                Arrays.fill(target, -1);
+                int next = 0;
+                StringBuilder sb = new StringBuilder(encoder.rows * (encoder.cols + 1) + 16);
+                sb.append(encoder.rows).append('x').append(encoder.cols).append('@')
+                  .append(reflect(encoder.exitRow, encoder.rows, t & FLIP_ROWS)).append(',')
+                  .append(reflect(encoder.exitCol, encoder.cols, t & FLIP_COLS)).append(':');
+                for (int r = 0; r < encoder.rows; r++) {
+                    if (r > 0) sb.append('|');
+                    for (int c = 0; c < encoder.cols; c++) {
+                        int piece = grid[r][c];
+                        if (piece >= 0 && target[piece] < 0) target[piece] = next++;
+                        sb.append(piece < 0 ? "." : piece == encoder.primaryIndex ? "P" : Integer.toString(target[piece], 36));
+                        if (c + 1 < encoder.cols) sb.append(',');
+                    }
+                }
+                String key = sb.toString();
+                if (bestKey == null || key.compareTo(bestKey) < 0) {
+                    bestKey = key;
+                    bestTransform = t;
+                    bestTarget = target;
+                }
+            }
+
+            boolean[] flip = new boolean[encoder.pieceCount];
+            int[] extent = new int[encoder.pieceCount];
+            for (int i = 0; i < encoder.pieceCount; i++) {
+                flip[i] = flipsAlongLane(encoder.horizontal[i], bestTransform);
+                extent[i] = encoder.positionCount[i] - 1;
+            }
+            return new Canonical(bestKey, bestTarget, flip, extent);
+        }
+
+        public int[] toCanonical(int[] positions) {
+            int[] out = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                out[target[i]] = flip[i] ? extent[i] - positions[i] : positions[i];
+            }
+            return out;
+        }
+
+        public int[] fromCanonical(int[] canonical) {
+            int[] out = new int[canonical.length];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = flip[i] ? extent[i] - canonical[target[i]] : canonical[target[i]];
+            }
+            return out;
+        }
+    }
+}
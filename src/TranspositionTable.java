@@ -0,0 +1,88 @@
+import java.util.Arrays;
+
+// Tabel transposisi berukuran tetap untuk IDA*: satu slot per indeks hash (tanpa probing),
+// menyimpan g terbaik sebuah state beserta batas iterasi dan hasil subtree-nya.
+// Saat dua state berebut slot, yang dipertahankan adalah yang sisa kedalamannya (bound - g)
+// paling besar, karena subtree-nya paling mahal untuk dijelajah ulang.
+public class TranspositionTable {
+    public static final int UNKNOWN = -1;
+    public static final int DEFAULT_CAPACITY = 1 << 19;
+    private static final int ENTRY_BYTES = Long.BYTES + 3 * Integer.BYTES;
+    private static final int EMPTY = -1;
+
+    private final long[] keys;
+    private final int[] gs;
+    private final int[] bounds;
+    private final int[] results;  // nextBound subtree yang sudah selesai, UNKNOWN jika belum
+    private final int mask;
+    private int size;
+
+    public TranspositionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Tabel dialokasikan penuh di awal, jadi dengan --max-memory ukurannya dibatasi separuh batas;
+    // sisanya untuk path pencarian
+    public static int capacityFor(SearchLimits limits, int capacity) {
+        if (limits.maxMemoryBytes <= 0) return capacity;
+        return (int) Math.max(2, Math.min(capacity, limits.maxMemoryBytes / 2 / ENTRY_BYTES));
+    }
+
+    public TranspositionTable(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        keys = new long[slots];
+        gs = new int[slots];
+        bounds = new int[slots];
+        results = new int[slots];
+        mask = slots - 1;
+        Arrays.fill(gs, EMPTY);
+    }
+
+    // Indeks slot yang menyimpan state ini, atau -1
+    public int probe(long key) {
+        int slot = LongIntHashMap.mix(key) & mask;
+        return gs[slot] != EMPTY && keys[slot] == key ? slot : -1;
+    }
+
+    public int g(int slot) {
+        return gs[slot];
+    }
+
+    public int bound(int slot) {
+        return bounds[slot];
+    }
+
+    public int result(int slot) {
+        return results[slot];
+    }
+
+    // Catat state saat mulai dijelajah; mengembalikan slot, atau -1 jika kalah dari penghuni slot
+    public int store(long key, int g, int bound) {
+        int slot = LongIntHashMap.mix(key) & mask;
+        if (gs[slot] == EMPTY) {
+            size++;
+        } else if (keys[slot] != key && bound - g < bounds[slot] - gs[slot]) {
+            return -1;
+        }
+        keys[slot] = key;
+        gs[slot] = g;
+        bounds[slot] = bound;
+        results[slot] = UNKNOWN;
+        return slot;
+    }
+
+    // Simpan hasil subtree jika slot belum ditimpa state atau g lain selama penjelajahan
+    public void complete(int slot, long key, int g, int result) {
+        if (slot >= 0 && keys[slot] == key && gs[slot] == g) {
+            results[slot] = result;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long memoryBytes() {
+        return keys.length * (long) ENTRY_BYTES;
+    }
+}
@@ -5,9 +5,16 @@ import java.io.PrintWriter;
 import java.util.*;
 
 public class UCS implements Solver {
-    private final char[] priorityDirs = {'U', 'D', 'L', 'R'};
+    private StateEncoder encoder;
+    private Symmetry symmetry;
+    private MoveGenerator moveGenerator;
+    private final CostModel costModel;
+    private final OpenList.Type queueType;
     public int nodesExpanded = 0;
     public int lastSummarizedStepCount = 0;
+    private double bytesPerState = 0;
+    private SearchLimits limits = SearchLimits.NONE;
+    private SearchMetrics metrics = SearchMetrics.NONE;
 
     private static class SummarizedStep {
         char piece;
@@ -29,6 +36,19 @@ public class UCS implements Solver {
                    " (cost=" + g + ")";
         }
     }
+
+    public UCS() {
+        this(CostModel.CELLS_MOVED);
+    }
+
+    public UCS(CostModel costModel) {
+        this(costModel, OpenList.Type.HEAP);
+    }
+
+    public UCS(CostModel costModel, OpenList.Type queueType) {
+        this.costModel = costModel;
+        this.queueType = queueType;
+    }
     
     private String getAlgorithmName() {
         return "Uniform Cost Search (UCS)";
@@ -38,6 +58,11 @@ public class UCS implements Solver {
         return false;
     }
 
+    // Biaya geser berupa integer kecil, jadi bucket per g bisa menggantikan heap
+    private OpenList<Node> createOpenList() {
+        return queueType == OpenList.Type.BUCKET ? new BucketOpenList<>(n -> n.g) : new HeapOpenList<>();
+    }
+
     private void ensureTestDirectoryExists() {
         File directory = new File("test");
         if (!directory.exists()) {
@@ -49,51 +74,71 @@ public class UCS implements Solver {
     public void solve(Board start) {
         nodesExpanded = 0;
         lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
+
+        OpenList<Node> openSet = createOpenList();
+        LongIntHashMap bestCost = new LongIntHashMap(); 
+        budget.meterMemory(() -> bestCost.memoryBytes() + (openSet.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
+
+        long startKey = encoder.encode(start);
+        symmetry = Symmetry.of(encoder, startKey);
+        if (symmetry.isSymmetric()) {
+            System.out.println("Papan simetris (" + symmetry.getName() + "), state dan cerminnya digabung");
+        }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Map<String, Integer> bestCost = new HashMap<>(); 
-
-        Node startNode = new Node(start, null, '\0', '\0', 0);
+        Node startNode = new Node(startKey, null, '\0', '\0', 0, 0);
         openSet.add(startNode);
-        String startKey = getBoardKey(start);
-        bestCost.put(startKey, 0);
+        bestCost.put(symmetry.canonical(startKey), 0);
 
         System.out.println(getAlgorithmName());
 
         Node solutionNode = null;
 
         while (!openSet.isEmpty()) {
+            long t = recorder.time();
             Node current = openSet.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
             nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, openSet.size(), bestCost.size(), current.g, current.g);
 
-            if (isGoalState(current.board)) {
+            if (encoder.isGoal(current.key)) {
                 solutionNode = current;
                 break;
             }
 
-            String boardKey = getBoardKey(current.board);
+            long boardKey = symmetry.canonical(current.key);
             
-            if (current.g > bestCost.getOrDefault(boardKey, Integer.MAX_VALUE)) {
+            if (current.g > bestCost.get(boardKey, Integer.MAX_VALUE)) {
+                recorder.lap(SearchMetrics.HASHING, t);
                 continue;
             }
-            
-            for (Piece piece : current.board.pieces) {
-                for (char dir : priorityDirs) {
-                    if (canMove(current.board, piece.name, dir)) {
-                        Board newBoard = move(current.board, piece.name, dir);
-                        String newBoardKey = getBoardKey(newBoard);
-                        int newG = current.g + 1;
-
-                        if (newG < bestCost.getOrDefault(newBoardKey, Integer.MAX_VALUE)) {
-                            bestCost.put(newBoardKey, newG);
-                            Node neighbor = new Node(newBoard, current, piece.name, dir, newG);
-                            openSet.add(neighbor);
-                        }
-                    }
+            t = recorder.lap(SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                int newG = current.g + costModel.cost(move.distance);
+
+                long canonicalKey = symmetry.canonical(move.key);
+                if (newG < bestCost.get(canonicalKey, Integer.MAX_VALUE)) {
+                    bestCost.put(canonicalKey, newG);
+                    t = recorder.lap(SearchMetrics.HASHING, t);
+                    Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newG);
+                    openSet.add(neighbor);
+                    t = recorder.lap(SearchMetrics.QUEUE, t);
                 }
             }
+            recorder.lap(SearchMetrics.HASHING, t);
         }
 
+        recorder.finish(nodesExpanded, openSet.size(), bestCost.size(), solutionNode == null ? -1 : solutionNode.g);
+        bytesPerState = bestCost.memoryBytes() / (double) Math.max(1, bestCost.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
         if (solutionNode != null) {
             List<SummarizedStep> summarizedPath = getSummarizedPath(solutionNode);
             this.lastSummarizedStepCount = summarizedPath.size();
@@ -115,50 +160,70 @@ public class UCS implements Solver {
     public List<Board> solveAndReturnPath(Board start) {
         nodesExpanded = 0;
         lastSummarizedStepCount = 0;
+        encoder = new StateEncoder(start);
+        SearchLimits.Budget budget = limits.start();
+        SearchMetrics.Recorder recorder = metrics.start(getAlgorithmName());
+        moveGenerator = new MoveGenerator(encoder);
+
+        OpenList<Node> openSet = createOpenList();
+        LongIntHashMap bestCost = new LongIntHashMap();
+        budget.meterMemory(() -> bestCost.memoryBytes() + (openSet.size() + (long) nodesExpanded) * SearchLimits.NODE_BYTES);
+
+        long startKey = encoder.encode(start);
+        symmetry = Symmetry.of(encoder, startKey);
+        if (symmetry.isSymmetric()) {
+            System.out.println("Papan simetris (" + symmetry.getName() + "), state dan cerminnya digabung");
+        }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Map<String, Integer> bestCost = new HashMap<>();
-
-        Node startNode = new Node(start, null, '\0', '\0', 0);
+        Node startNode = new Node(startKey, null, '\0', '\0', 0, 0);
         openSet.add(startNode);
-        String startKey = getBoardKey(start);
-        bestCost.put(startKey, 0);
+        bestCost.put(symmetry.canonical(startKey), 0);
 
         System.out.println(getAlgorithmName() + " (mencari path list)");
 
         Node solutionNode = null;
 
         while (!openSet.isEmpty()) {
+            long t = recorder.time();
             Node current = openSet.poll();
+            t = recorder.lap(SearchMetrics.QUEUE, t);
             nodesExpanded++;
+            budget.check(nodesExpanded);
+            recorder.sample(nodesExpanded, openSet.size(), bestCost.size(), current.g, current.g);
 
-            if (isGoalState(current.board)) {
+            if (encoder.isGoal(current.key)) {
                 solutionNode = current;
                 break;
             }
 
-            String boardKey = getBoardKey(current.board);
-            if (current.g > bestCost.getOrDefault(boardKey, Integer.MAX_VALUE)) {
+            long boardKey = symmetry.canonical(current.key);
+            if (current.g > bestCost.get(boardKey, Integer.MAX_VALUE)) {
+                recorder.lap(SearchMetrics.HASHING, t);
                 continue;
             }
-
-            for (Piece piece : current.board.pieces) {
-                for (char dir : priorityDirs) {
-                    if (canMove(current.board, piece.name, dir)) {
-                        Board newBoard = move(current.board, piece.name, dir);
-                        String newBoardKey = getBoardKey(newBoard);
-                        int newG = current.g + 1;
-
-                        if (newG < bestCost.getOrDefault(newBoardKey, Integer.MAX_VALUE)) {
-                            bestCost.put(newBoardKey, newG);
-                            Node neighbor = new Node(newBoard, current, piece.name, dir, newG);
-                            openSet.add(neighbor);
-                        }
-                    }
+            t = recorder.lap(SearchMetrics.HASHING, t);
+
+            List<Move> moves = moveGenerator.generate(current.key);
+            t = recorder.lap(SearchMetrics.MOVES, t);
+            for (Move move : moves) {
+                int newG = current.g + costModel.cost(move.distance);
+
+                long canonicalKey = symmetry.canonical(move.key);
+                if (newG < bestCost.get(canonicalKey, Integer.MAX_VALUE)) {
+                    bestCost.put(canonicalKey, newG);
+                    t = recorder.lap(SearchMetrics.HASHING, t);
+                    Node neighbor = new Node(move.key, current, move.piece, move.direction, move.distance, newG);
+                    openSet.add(neighbor);
+                    t = recorder.lap(SearchMetrics.QUEUE, t);
                 }
             }
+            recorder.lap(SearchMetrics.HASHING, t);
         }
 
+        recorder.finish(nodesExpanded, openSet.size(), bestCost.size(), solutionNode == null ? -1 : solutionNode.g);
+        bytesPerState = bestCost.memoryBytes() / (double) Math.max(1, bestCost.size());
+        System.out.println("Memori tabel state: " + String.format("%.1f", bytesPerState) + " byte/state");
+
         if (solutionNode == null) {
             System.out.println("Tidak ditemukan solusi!");
             ensureTestDirectoryExists();
@@ -175,7 +240,7 @@ public class UCS implements Solver {
         List<Board> boardPath = new ArrayList<>();
         Node tempNode = solutionNode;
         while (tempNode != null) {
-            boardPath.add(tempNode.board);
+            boardPath.add(encoder.decode(tempNode.key));
             tempNode = tempNode.parent;
         }
         Collections.reverse(boardPath);
@@ -197,6 +262,21 @@ public class UCS implements Solver {
         return nodesExpanded;
     }
 
+    @Override
+    public double getBytesPerState() {
+        return bytesPerState;
+    }
+
+    @Override
+    public void setLimits(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     private List<SummarizedStep> getSummarizedPath(Node solutionNode) {
         List<SummarizedStep> summarizedSteps = new ArrayList<>();
         if (solutionNode == null) return summarizedSteps;
@@ -214,20 +294,20 @@ public class UCS implements Solver {
         char currentPiece = rawPathNodes.get(0).piece;
         char currentDirection = rawPathNodes.get(0).direction;
         int moveCount = 0;
-        Board lastBoardInSequence = rawPathNodes.get(0).board;
+        Board lastBoardInSequence = encoder.decode(rawPathNodes.get(0).key);
         int gVal = rawPathNodes.get(0).g;
 
         for (Node node : rawPathNodes) {
             if (node.piece == currentPiece && node.direction == currentDirection) {
-                moveCount++;
-                lastBoardInSequence = node.board;
+                moveCount += node.distance;
+                lastBoardInSequence = encoder.decode(node.key);
                 gVal = node.g;
             } else {
                 summarizedSteps.add(new SummarizedStep(currentPiece, currentDirection, moveCount, lastBoardInSequence, gVal));
                 currentPiece = node.piece;
                 currentDirection = node.direction;
-                moveCount = 1;
-                lastBoardInSequence = node.board;
+                moveCount = node.distance;
+                lastBoardInSequence = encoder.decode(node.key);
                 gVal = node.g;
             }
         }
@@ -275,43 +355,6 @@ public class UCS implements Solver {
     //     }
     // }
     
-    private boolean isGoalState(Board board) {
-        if (board.primaryPiece == null || (board.exitRow == -1 && board.exitCol == -1)) return false;
-    
-        for (int[] cell : board.primaryPiece.cells) {
-            int r = cell[0], c = cell[1];
-    
-            // Exit di atas grid
-            if (board.exitRow == -1 && board.exitCol == c && r == 0) return true;
-    
-            // Exit di bawah grid
-            if (board.exitRow == board.rows && board.exitCol == c && r == board.rows - 1) return true;
-    
-            // Exit di kiri grid
-            if (board.exitCol == -1 && board.exitRow == r && c == 0) return true;
-    
-            // Exit di kanan grid
-            if (board.exitCol == board.cols && board.exitRow == r && c == board.cols - 1) return true;
-    
-            // Exit di dalam grid (samping P)
-            if ((r == board.exitRow && Math.abs(c - board.exitCol) == 1) ||
-                (c == board.exitCol && Math.abs(r - board.exitRow) == 1)) {
-                return true;
-            }
-        }
-    
-        return false;
-    }
-
-    private String getBoardKey(Board board) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < board.rows; i++) {
-            for (int j = 0; j < board.cols; j++) {
-                sb.append(board.grid[i][j]);
-            }
-        }
-        return sb.toString();
-    }
 
     private String getDirName(char d) {
         return switch (d) {
@@ -323,117 +366,20 @@ public class UCS implements Solver {
         };
     }
 
-    private boolean canMove(Board board, char pieceName, char dir) {
-        Piece pieceToMove = null;
-        for (Piece p : board.pieces) {
-            if (p.name == pieceName) {
-                pieceToMove = p;
-                break;
-            }
-        }
-
-        if (pieceToMove == null || pieceToMove.cells.isEmpty()) {
-            return false;
-        }
-
-        PieceOrientation orientation = pieceToMove.getOrientation();
-
-        if (orientation == PieceOrientation.HORIZONTAL) {
-            if (dir == 'U' || dir == 'D') {
-                return false;
-            }
-        } else if (orientation == PieceOrientation.VERTICAL) {
-            if (dir == 'L' || dir == 'R') {
-                return false;
-            }
-        }
-
-        for (int[] cell : pieceToMove.cells) {
-            int currentRow = cell[0];
-            int currentCol = cell[1];
-            int newRow = currentRow;
-            int newCol = currentCol;
-
-            switch (dir) {
-                case 'L' -> newCol--;
-                case 'R' -> newCol++;
-                case 'U' -> newRow--;
-                case 'D' -> newRow++;
-            }
-
-            if (newRow < 0 || newRow >= board.rows || newCol < 0 || newCol >= board.cols) {
-                return false;
-            }
-
-            char destinationCellContent = board.grid[newRow][newCol];
-            boolean partOfItself = false;
-            for(int[] ownCell : pieceToMove.cells){
-                if(ownCell[0] == newRow && ownCell[1] == newCol){
-                    partOfItself = true;
-                    break;
-                }
-            }
-
-            if (destinationCellContent != '.' && destinationCellContent != 'K' && !partOfItself) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private Board move(Board board, char pieceName, char dir) {
-        Board newBoard = board.clone();
-        Piece targetPieceInNewBoard = null;
-        for(Piece p : newBoard.pieces){
-            if(p.name == pieceName){
-                targetPieceInNewBoard = p;
-                break;
-            }
-        }
-
-        if (targetPieceInNewBoard == null) return newBoard;
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            newBoard.grid[cell[0]][cell[1]] = '.';
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            switch (dir) {
-                case 'L' -> cell[1]--;
-                case 'R' -> cell[1]++;
-                case 'U' -> cell[0]--;
-                case 'D' -> cell[0]++;
-            }
-        }
-
-        for (int[] cell : targetPieceInNewBoard.cells) {
-            if (cell[0] >= 0 && cell[0] < newBoard.rows && cell[1] >=0 && cell[1] < newBoard.cols) {
-                newBoard.grid[cell[0]][cell[1]] = pieceName;
-            } else {
-                System.err.println("Error critical (UCS): Piece " + pieceName + " moved out of bounds. Row: " + cell[0] + ", Col: " + cell[1]);
-                return board; 
-            }
-        }
-        
-        char KODE_BIDAK_UTAMA = 'P';
-        if (pieceName == KODE_BIDAK_UTAMA) {
-            newBoard.primaryPiece = targetPieceInNewBoard;
-        }
-        return newBoard;
-    }
-
     private static class Node implements Comparable<Node> {
-        Board board;
+        long key;
         Node parent;
         char piece;
         char direction;
+        int distance;
         int g;
 
-        public Node(Board board, Node parent, char piece, char direction, int g) {
-            this.board = board;
+        public Node(long key, Node parent, char piece, char direction, int distance, int g) {
+            this.key = key;
             this.parent = parent;
             this.piece = piece;
             this.direction = direction;
+            this.distance = distance;
             this.g = g;
         }
 